@@ -0,0 +1,37 @@
+package visualizer;
+
+/** SortArray over a plain int[] that records nothing, the baseline cost of the abstraction. */
+final class PlainArray implements SortArray {
+    private final int[] values;
+
+    PlainArray(int[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public int length() {
+        return values.length;
+    }
+
+    @Override
+    public int read(int i) {
+        return values[i];
+    }
+
+    @Override
+    public void write(int i, int value) {
+        values[i] = value;
+    }
+
+    @Override
+    public int compare(int i, int j) {
+        return Integer.compare(values[i], values[j]);
+    }
+
+    @Override
+    public void swap(int i, int j) {
+        int temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+    }
+}
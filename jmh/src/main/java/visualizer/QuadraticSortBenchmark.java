@@ -0,0 +1,28 @@
+package visualizer;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * The O(n^2) sorts, and Quick Sort, whose last-element pivot is quadratic on
+ * sorted and few-unique input, at sizes where that stays measurable.
+ */
+public class QuadraticSortBenchmark extends SortBenchmarkBase {
+    @Param({"Bubble Sort", "Selection Sort", "Insertion Sort", "Quick Sort"})
+    public String algorithm;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"random", "sorted", "reversed", "few-unique"})
+    public String distribution;
+
+    @Param({"plain", "counting"})
+    public String array;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        prepare(algorithm, size, distribution, array);
+    }
+}
@@ -0,0 +1,133 @@
+package visualizer;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of each bar renderer on a headless Monocle stage with the
+ * software pipeline: the draw calls or scene graph changes and, through a
+ * snapshot of the pane, their rasterization. {@code fullFrame} redraws
+ * everything; {@code dirtyFrame} swaps two values and repaints only their
+ * columns where the renderer can, as a running sort does. The node
+ * renderers are only measured up to {@link Main#NODE_RENDER_LIMIT}, the
+ * size above which the application falls back to the canvas; their larger
+ * trials fail in setup and JMH moves on to the next.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw",
+        "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class RenderBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"1280", "1920"})
+    public int width;
+
+    @Param({"retained", "rebuild", "canvas"})
+    public String renderer;
+
+    private int[] values;
+    private Pane pane;
+    private Stage stage;
+    private BarRenderer bars;
+    private WritableImage image;
+    private final DirtyIndices dirty = new DirtyIndices();
+    private int step;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if (!"canvas".equals(renderer) && size > Main.NODE_RENDER_LIMIT) {
+            throw new IllegalStateException("Node renderers are not used above " + Main.NODE_RENDER_LIMIT + " bars");
+        }
+        values = Distribution.RANDOM.generate(size, 42);
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+        onFx(() -> {
+            pane = new Pane();
+            stage = new Stage();
+            stage.setScene(new Scene(pane, width, Main.WINDOW_HEIGHT));
+            stage.show();
+            switch (renderer) {
+                case "retained":
+                    bars = new RetainedBarRenderer(pane);
+                    break;
+                case "rebuild":
+                    bars = new RebuildBarRenderer(pane);
+                    break;
+                case "canvas":
+                    bars = new CanvasBarRenderer(pane);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown renderer: " + renderer);
+            }
+            image = new WritableImage(width, Main.WINDOW_HEIGHT);
+            bars.render(values, -1, -1, null, width);
+            return null;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        onFx(() -> {
+            stage.hide();
+            return null;
+        });
+        Platform.exit();
+    }
+
+    @Benchmark
+    public WritableImage fullFrame() throws Exception {
+        return onFx(() -> {
+            bars.render(values, size / 3, 2 * size / 3, null, width);
+            return pane.snapshot(null, image);
+        });
+    }
+
+    @Benchmark
+    public WritableImage dirtyFrame() throws Exception {
+        return onFx(() -> {
+            // Two indices that move across the array, like a pass of a sort
+            int i = step++ % size, j = (int) ((i + size / 2L) % size);
+            int temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+            dirty.clear();
+            dirty.add(i);
+            dirty.add(j);
+            bars.update(values, i, j, null, dirty, width);
+            return pane.snapshot(null, image);
+        });
+    }
+
+    private static <T> T onFx(Callable<T> work) throws Exception {
+        FutureTask<T> task = new FutureTask<>(work);
+        Platform.runLater(task);
+        return task.get();
+    }
+}
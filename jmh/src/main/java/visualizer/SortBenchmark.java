@@ -0,0 +1,25 @@
+package visualizer;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/** The O(n log n) and linear-time sorts up to a million elements. */
+public class SortBenchmark extends SortBenchmarkBase {
+    @Param({"Merge Sort", "Heap Sort", "LSD Radix Sort", "MSD Radix Sort", "Counting Sort", "Block Merge Sort"})
+    public String algorithm;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"random", "sorted", "reversed", "few-unique"})
+    public String distribution;
+
+    @Param({"plain", "counting"})
+    public String array;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        prepare(algorithm, size, distribution, array);
+    }
+}
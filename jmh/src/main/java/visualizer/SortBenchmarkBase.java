@@ -0,0 +1,58 @@
+package visualizer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One sort of a fresh copy of a generated input, on a {@link PlainArray} or a
+ * {@link CountingArray}. Subclasses pick the algorithms, sizes and inputs.
+ * The O(n) copy is part of every invocation; per-invocation setup would cost
+ * more than it saves at the small sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public abstract class SortBenchmarkBase {
+    private Algorithm sort;
+    private int[] input, work;
+    private boolean counting;
+
+    void prepare(String algorithm, int size, String distribution, String array) {
+        sort = Algorithms.find(algorithm);
+        if (sort == null) throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        input = Distribution.of(distribution).generate(size, 42);
+        work = new int[size];
+        switch (array) {
+            case "plain":
+                counting = false;
+                break;
+            case "counting":
+                counting = true;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown array: " + array);
+        }
+    }
+
+    @Benchmark
+    public void sort(Blackhole blackhole) {
+        System.arraycopy(input, 0, work, 0, work.length);
+        SortArray a = counting ? new CountingArray(work) : new PlainArray(work);
+        sort.sort(a);
+        blackhole.consume(a);
+        blackhole.consume(work);
+    }
+}
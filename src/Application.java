@@ -1,5 +0,0 @@
-public class Application {
-    public static void main(String[] args) {
-        
-    }
-}
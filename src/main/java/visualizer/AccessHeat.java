@@ -0,0 +1,58 @@
+package visualizer;
+
+/**
+ * How often each region of the array was read or written, for the heatmap
+ * under the bars. Indices are grouped into at most {@link #MAX_REGIONS}
+ * equal regions. Trace events count as accesses to every index they name: a
+ * compare reads two elements, a swap reads and writes two, a write writes
+ * one, and a read event reads each element of its run once.
+ */
+final class AccessHeat {
+    static final int MAX_REGIONS = 256;
+
+    final long[] counts;
+    private final int length;
+
+    AccessHeat(int length) {
+        this.length = Math.max(1, length);
+        this.counts = new long[Math.min(this.length, MAX_REGIONS)];
+    }
+
+    void touch(int index, int accesses) {
+        counts[(int) ((long) index * counts.length / length)] += accesses;
+    }
+
+    /** Adds one access to each of the {@code count} elements starting at {@code from}, region by region. */
+    void touchRange(int from, int count) {
+        int end = from + count;
+        for (int i = from; i < end; ) {
+            int region = (int) ((long) i * counts.length / length);
+            // First index of the next region
+            int next = (int) Math.min(end, ((long) (region + 1) * length + counts.length - 1) / counts.length);
+            counts[region] += next - i;
+            i = next;
+        }
+    }
+
+    /** Counts the accesses of one trace event; phase markers touch nothing. */
+    void record(long event) {
+        switch (Trace.op(event)) {
+            case Trace.COMPARE:
+                touch(Trace.a(event), 1);
+                touch(Trace.b(event), 1);
+                break;
+            case Trace.SWAP:
+                touch(Trace.a(event), 2);
+                touch(Trace.b(event), 2);
+                break;
+            case Trace.WRITE:
+                touch(Trace.a(event), 1);
+                break;
+            case Trace.READ:
+                touchRange(Trace.a(event), Trace.b(event));
+                break;
+            default:
+                break;
+        }
+    }
+}
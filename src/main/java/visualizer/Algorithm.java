@@ -0,0 +1,22 @@
+package visualizer;
+
+/**
+ * A sorting algorithm the visualizer can run. Implementations are found with
+ * {@link java.util.ServiceLoader}, so new ones can be added as a jar with a
+ * {@code META-INF/services/visualizer.Algorithm} entry and a public no-arg constructor.
+ * They only see the data through {@link SortArray}, so the same code runs
+ * traced for animation and counted for headless runs.
+ */
+public interface Algorithm {
+    /** Name shown in the algorithm box; must be unique. */
+    String name();
+
+    boolean isStable();
+
+    boolean isInPlace();
+
+    /** Expected time complexity, e.g. "O(n log n)". */
+    String complexity();
+
+    void sort(SortArray array);
+}
@@ -0,0 +1,87 @@
+package visualizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/** Registry of the sorting algorithms available through {@link ServiceLoader}. */
+final class Algorithms {
+    private static List<Algorithm> loaded;
+
+    private Algorithms() {
+    }
+
+    /**
+     * All providers, in the order they are listed on the class path. Throws
+     * IllegalStateException if there are none, which means the service file
+     * was left off the class path.
+     */
+    static synchronized List<Algorithm> all() {
+        if (loaded == null) {
+            List<Algorithm> list = new ArrayList<>();
+            for (Algorithm algorithm : ServiceLoader.load(Algorithm.class)) {
+                list.add(algorithm);
+            }
+            if (list.isEmpty()) {
+                throw new IllegalStateException("No sorting algorithms found: META-INF/services/"
+                        + Algorithm.class.getName() + " is not on the class path");
+            }
+            loaded = Collections.unmodifiableList(list);
+        }
+        return loaded;
+    }
+
+    /** The algorithm with the given name, or null. */
+    static Algorithm find(String name) {
+        for (Algorithm algorithm : all()) {
+            if (algorithm.name().equals(name)) return algorithm;
+        }
+        return null;
+    }
+
+    /**
+     * Rough number of events {@code algorithm} records on {@code n} elements,
+     * from its declared complexity: 2 n^2 for quadratic sorts, 6 n log2 n for
+     * n log n ones and 32 n for the linear-time ones. Unknown complexities
+     * count as quadratic. Input order is ignored, so a sort that degrades on
+     * some inputs (Quick Sort on sorted input) can record far more.
+     */
+    static long estimatedEvents(Algorithm algorithm, int n) {
+        double events;
+        switch (algorithm.complexity()) {
+            case "O(n log n)":
+                events = 6.0 * n * Math.max(1, Math.log(n) / Math.log(2));
+                break;
+            case "O(n * w)":
+            case "O(n + k)":
+                events = 32.0 * n;
+                break;
+            default:
+                events = 2.0 * n * n;
+                break;
+        }
+        return (long) Math.min(Long.MAX_VALUE, events);
+    }
+
+    /** Largest size whose {@link #estimatedEvents} stays within {@code maxEvents}. */
+    static int maxSizeFor(Algorithm algorithm, long maxEvents) {
+        int low = 0, high = Integer.MAX_VALUE;
+        while (low < high) {
+            int mid = (int) (((long) low + high + 1) / 2);
+            if (estimatedEvents(algorithm, mid) <= maxEvents) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /** Short metadata line, e.g. "O(n log n), stable, not in-place". */
+    static String describe(Algorithm algorithm) {
+        return algorithm.complexity()
+                + (algorithm.isStable() ? ", stable" : ", unstable")
+                + (algorithm.isInPlace() ? ", in-place" : ", not in-place");
+    }
+}
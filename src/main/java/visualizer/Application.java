@@ -0,0 +1,191 @@
+package visualizer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Headless entry point: runs the selected algorithms over a grid of sizes and
+ * input distributions without starting JavaFX and prints the results as CSV
+ * or JSON, records a single run to a trace file that the visualizer can
+ * replay, or times batches of search queries. The visualizer itself is still
+ * started from {@code Main}.
+ */
+public class Application {
+    private static final String USAGE = String.join("\n",
+            "Usage: java Application [options]",
+            "  --algorithms <names>     comma separated, default: all registered sorts",
+            "  --sizes <n,...>          default: 1000,10000,100000",
+            "  --distributions <d,...>  random, sorted, reversed, few-unique, nearly-sorted, gaussian, zipf,",
+            "                           sorted-runs, sawtooth, organ-pipe, quicksort-killer (default: all)",
+            "  --repeats <n>            runs per cell, default: 3",
+            "  --seed <n>               input seed, default: 42",
+            "  --threads <n>            parallel runs, default: one per core",
+            "  --quadratic-limit <n>    skip O(n^2) sorts above this size, and Quick Sort on",
+            "                           inputs other than random and gaussian, default: 50000",
+            "  --format <csv|json>      default: csv",
+            "  --output <file>          default: standard output",
+            "  --record <file>          record one run to a trace file instead, using the first",
+            "                           algorithm, size and distribution given",
+            "  --queries <n>            time n search queries per search, size and distribution instead",
+            "  --searches <names>       comma separated, default: all searches",
+            "  --query-budget <ms>      time limit per batch of queries, default: 2000");
+
+    private static final List<String> OPTIONS = Arrays.asList("--algorithms", "--sizes", "--distributions",
+            "--repeats", "--seed", "--threads", "--quadratic-limit", "--format", "--output", "--record",
+            "--queries", "--searches", "--query-budget");
+
+    public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--help") || Arrays.asList(args).contains("-h")) {
+            System.out.println(USAGE);
+            return;
+        }
+        try {
+            checkOptions(args);
+            List<Algorithm> algorithms = new ArrayList<>();
+            String names = option(args, "--algorithms");
+            if (names == null) {
+                algorithms.addAll(Algorithms.all());
+            } else {
+                for (String name : names.split(",")) {
+                    Algorithm algorithm = Algorithms.find(name.trim());
+                    if (algorithm == null) throw new IllegalArgumentException("Unknown algorithm: " + name.trim());
+                    algorithms.add(algorithm);
+                }
+            }
+            String sizesOption = option(args, "--sizes");
+            int[] sizes = sizesOption != null
+                    ? Arrays.stream(sizesOption.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray()
+                    : new int[]{1_000, 10_000, 100_000};
+            List<Distribution> distributions = new ArrayList<>();
+            String distributionsOption = option(args, "--distributions");
+            if (distributionsOption == null) {
+                distributions.addAll(Arrays.asList(Distribution.values()));
+            } else {
+                for (String id : distributionsOption.split(",")) distributions.add(Distribution.of(id.trim()));
+            }
+            int repeats = intOption(args, "--repeats", 3);
+            long seed = Long.parseLong(valueOr(option(args, "--seed"), "42"));
+            String record = option(args, "--record");
+            if (record != null) {
+                record(algorithms.get(0), sizes[0], distributions.get(0), seed, Paths.get(record));
+                return;
+            }
+            int threads = intOption(args, "--threads", Runtime.getRuntime().availableProcessors());
+            int quadraticLimit = intOption(args, "--quadratic-limit", 50_000);
+            String format = valueOr(option(args, "--format"), "csv");
+            if (!format.equals("csv") && !format.equals("json")) {
+                throw new IllegalArgumentException("Unknown format: " + format);
+            }
+
+            String report;
+            String queries = option(args, "--queries");
+            if (queries != null) {
+                List<SearchAlgorithm> searches = new ArrayList<>();
+                String searchNames = option(args, "--searches");
+                if (searchNames == null) {
+                    searches.addAll(Arrays.asList(SearchAlgorithm.values()));
+                } else {
+                    for (String name : searchNames.split(",")) {
+                        SearchAlgorithm search = SearchAlgorithm.find(name.trim());
+                        if (search == null) throw new IllegalArgumentException("Unknown search: " + name.trim());
+                        searches.add(search);
+                    }
+                }
+                long budgetNanos = intOption(args, "--query-budget", 2_000) * 1_000_000L;
+                List<QueryBatch.Result> results = queryBatches(searches, sizes, distributions,
+                        Integer.parseInt(queries.trim()), seed, threads, budgetNanos);
+                report = format.equals("json") ? QueryBatch.toJson(results) : QueryBatch.toCsv(results);
+            } else {
+                List<BatchRunner.Result> results = new BatchRunner(algorithms, sizes, distributions,
+                        repeats, seed, threads, quadraticLimit).run();
+                report = format.equals("json") ? BatchRunner.toJson(results) : BatchRunner.toCsv(results);
+            }
+            String output = option(args, "--output");
+            if (output != null) {
+                Files.write(Paths.get(output), report.getBytes(StandardCharsets.UTF_8));
+            } else {
+                System.out.print(report);
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        } catch (IOException | ExecutionException ex) {
+            System.err.println("Batch run failed: " + ex);
+            System.exit(1);
+        } catch (IllegalStateException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(1);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            System.exit(130);
+        }
+    }
+
+    private static void record(Algorithm algorithm, int size, Distribution distribution, long seed, Path path)
+            throws IOException {
+        long start = System.nanoTime();
+        long events = TraceFile.record(algorithm, distribution.generate(size, seed), path);
+        System.err.printf("Recorded %s on %,d %s elements (seed %d): %,d events, %,d bytes in %.1f s%n",
+                algorithm.name(), size, distribution.id, seed, events, Files.size(path), (System.nanoTime() - start) / 1e9);
+    }
+
+    /** One query batch per (search, size, distribution), each index built once and shared by the searches. */
+    private static List<QueryBatch.Result> queryBatches(List<SearchAlgorithm> searches, int[] sizes,
+                                                        List<Distribution> distributions, int count, long seed,
+                                                        int threads, long budgetNanos) throws InterruptedException {
+        List<QueryBatch.Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            for (Distribution distribution : distributions) {
+                SortedIndex index = new SortedIndex(DatasetCache.SHARED.get(distribution, size, seed));
+                int[] queries = QueryBatch.queries(index, count, seed);
+                for (SearchAlgorithm search : searches) {
+                    // A short untimed pass first, so the timed one runs compiled code
+                    QueryBatch.run(search, index, distribution.id, queries, threads, budgetNanos / 10);
+                    QueryBatch.Result result = QueryBatch.run(search, index, distribution.id, queries, threads, budgetNanos);
+                    results.add(result);
+                    System.err.printf(Locale.ROOT, "%s n=%d %s: %,.0f queries/s, %.2f probes/query%n",
+                            search.name, size, distribution.id, result.queriesPerSecond(), result.probesPerQuery());
+                }
+            }
+        }
+        return results;
+    }
+
+    /** Rejects anything but known options, each followed by its value, so a typo is not silently ignored. */
+    private static void checkOptions(String[] args) {
+        for (int i = 0; i < args.length; i += 2) {
+            if (!OPTIONS.contains(args[i])) {
+                throw new IllegalArgumentException((args[i].startsWith("-") ? "Unknown option: " : "Unexpected argument: ") + args[i]);
+            }
+            if (i + 1 == args.length) throw new IllegalArgumentException("Missing value for " + args[i]);
+        }
+    }
+
+    private static String option(String[] args, String name) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(name)) {
+                if (i + 1 == args.length) throw new IllegalArgumentException("Missing value for " + name);
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private static int intOption(String[] args, String name, int defaultValue) {
+        String value = option(args, name);
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    private static String valueOr(String value, String defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
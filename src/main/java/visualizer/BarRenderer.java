@@ -0,0 +1,56 @@
+package visualizer;
+
+import javafx.scene.paint.Color;
+
+/**
+ * Draws the array into the visualizer area. Implementations decide how the
+ * scene graph is maintained between steps. Values are data, not pixels: bars
+ * are scaled so the largest value of the array reaches {@link #MAX_BAR_HEIGHT}.
+ */
+interface BarRenderer {
+    Color BACKGROUND = Color.web("#181828");
+    Color BAR_COLOR = Color.web("#2196F3");
+    Color HIGHLIGHT_COLOR = Color.RED;
+    double MAX_BAR_HEIGHT = Main.WINDOW_HEIGHT - Main.BAR_BOTTOM_PADDING - 10;
+    // One colour per parallel worker, reused round-robin beyond eight lanes
+    Color[] LANE_COLORS = {
+            Color.web("#FF5252"), Color.web("#FFEB3B"), Color.web("#69F0AE"), Color.web("#E040FB"),
+            Color.web("#FFAB40"), Color.web("#18FFFF"), Color.web("#FF4081"), Color.web("#B2FF59")
+    };
+
+    /**
+     * @param lanes highlighted index pairs of parallel workers, two entries per
+     *              lane with -1 for unused slots, or null
+     */
+    void render(int[] values, int highlight1, int highlight2, int[] lanes, double paneWidth);
+
+    /**
+     * Draws the next frame of the array last rendered, repainting only the
+     * {@code dirty} indices and the old and new highlights where the
+     * renderer can. The default is a full render.
+     */
+    default void update(int[] values, int highlight1, int highlight2, int[] lanes, DirtyIndices dirty, double paneWidth) {
+        render(values, highlight1, highlight2, lanes, paneWidth);
+    }
+
+    /** Forgets any retained nodes so the next render starts from scratch. */
+    void reset();
+
+    /** Pixels per unit of value for this array; negative values are drawn as empty bars. */
+    static double scaleFor(int[] values) {
+        return MAX_BAR_HEIGHT / maxOf(values);
+    }
+
+    /** The largest value, at least 1; the value drawn at full height. */
+    static int maxOf(int[] values) {
+        int max = 1;
+        for (int value : values) {
+            if (value > max) max = value;
+        }
+        return max;
+    }
+
+    static Color laneColor(int lane) {
+        return LANE_COLORS[lane % LANE_COLORS.length];
+    }
+}
@@ -0,0 +1,205 @@
+package visualizer;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a grid of (algorithm, size, distribution, repeat) cells with no UI and
+ * reports one result per cell. Cells are independent and run on a fixed pool,
+ * one per core by default; results are returned in grid order. A cell that
+ * throws, e.g. Counting Sort on too wide a range or out of memory at a large
+ * size, is reported with its error and the sweep goes on.
+ */
+final class BatchRunner {
+    static final class Result {
+        final String algorithm, distribution;
+        final int size, repeat;
+        final long wallNanos, comparisons, swaps, writes, reads, allocatedBytes;
+        final boolean sorted;
+        // Why the cell failed, or null; a failed cell has no counts
+        final String error;
+
+        Result(String algorithm, int size, String distribution, int repeat, long wallNanos,
+               CountingArray counts, long allocatedBytes, boolean sorted) {
+            this.algorithm = algorithm;
+            this.size = size;
+            this.distribution = distribution;
+            this.repeat = repeat;
+            this.wallNanos = wallNanos;
+            this.comparisons = counts.comparisons;
+            this.swaps = counts.swaps;
+            this.writes = counts.writes;
+            this.reads = counts.reads;
+            this.allocatedBytes = allocatedBytes;
+            this.sorted = sorted;
+            this.error = null;
+        }
+
+        /** A cell whose sort threw {@code error}. */
+        Result(String algorithm, int size, String distribution, int repeat, Throwable error) {
+            this.algorithm = algorithm;
+            this.size = size;
+            this.distribution = distribution;
+            this.repeat = repeat;
+            this.wallNanos = 0;
+            this.comparisons = 0;
+            this.swaps = 0;
+            this.writes = 0;
+            this.reads = 0;
+            this.allocatedBytes = 0;
+            this.sorted = false;
+            this.error = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        }
+
+        double elementsPerSecond() {
+            return size * 1e9 / Math.max(1, wallNanos);
+        }
+    }
+
+    private final List<Algorithm> algorithms;
+    private final int[] sizes;
+    private final List<Distribution> distributions;
+    private final int repeats, threads, quadraticLimit;
+    private final long seed;
+
+    BatchRunner(List<Algorithm> algorithms, int[] sizes, List<Distribution> distributions,
+                int repeats, long seed, int threads, int quadraticLimit) {
+        this.algorithms = algorithms;
+        this.sizes = sizes;
+        this.distributions = distributions;
+        this.repeats = repeats;
+        this.seed = seed;
+        this.threads = threads;
+        this.quadraticLimit = quadraticLimit;
+    }
+
+    List<Result> run() throws InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (Algorithm algorithm : algorithms) {
+                for (int size : sizes) {
+                    for (Distribution distribution : distributions) {
+                        if (size > quadraticLimit && isQuadratic(algorithm, distribution)) continue;
+                        for (int repeat = 0; repeat < repeats; repeat++) {
+                            int r = repeat;
+                            futures.add(pool.submit(() -> runOne(algorithm, size, distribution, r)));
+                        }
+                    }
+                }
+            }
+            List<Result> results = new ArrayList<>(futures.size());
+            for (int k = 0; k < futures.size(); k++) {
+                Result result = futures.get(k).get();
+                results.add(result);
+                System.err.printf(Locale.ROOT, "[%d/%d] %s n=%d %s #%d: %s%n", k + 1, futures.size(),
+                        result.algorithm, result.size, result.distribution, result.repeat,
+                        result.error == null ? String.format(Locale.ROOT, "%.3f ms", result.wallNanos / 1e6) : "failed: " + result.error);
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * True if {@code algorithm} takes about n^2 steps on {@code distribution}:
+     * the quadratic sorts on any input, and the last-element-pivot Quick Sort
+     * on everything but shuffled input, as ordered and low-entropy inputs
+     * (sorted, sawtooth, few-unique, zipf, the killer...) unbalance its partitions.
+     */
+    static boolean isQuadratic(Algorithm algorithm, Distribution distribution) {
+        if (algorithm.complexity().equals("O(n^2)")) return true;
+        return algorithm instanceof QuickSort && distribution != Distribution.RANDOM && distribution != Distribution.GAUSSIAN;
+    }
+
+    private Result runOne(Algorithm algorithm, int size, Distribution distribution, int repeat) {
+        try {
+            return measure(algorithm, size, distribution, repeat);
+        } catch (RuntimeException | OutOfMemoryError | StackOverflowError e) {
+            return new Result(algorithm.name(), size, distribution.id, repeat, e);
+        }
+    }
+
+    private Result measure(Algorithm algorithm, int size, Distribution distribution, int repeat) {
+        // Same input for every algorithm within a repeat, generated once and copied from the cache
+        int[] values = DatasetCache.SHARED.get(distribution, size, seed + repeat).clone();
+        CountingArray counts = new CountingArray(values);
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        algorithm.sort(counts);
+        long wall = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        long allocated = allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
+        return new Result(algorithm.name(), size, distribution.id, repeat, wall, counts, allocated, isSorted(values));
+    }
+
+    private static boolean isSorted(int[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i - 1] > values[i]) return false;
+        }
+        return true;
+    }
+
+    /** Bytes allocated so far by the current thread, or -1 if the JVM cannot tell. */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().threadId());
+            }
+        }
+        return -1;
+    }
+
+    // --- Output ---
+    static String toCsv(List<Result> results) {
+        StringBuilder out = new StringBuilder(
+                "algorithm,size,distribution,repeat,wall_ms,comparisons,swaps,writes,reads,allocated_bytes,elements_per_sec,sorted,error\n");
+        for (Result r : results) {
+            if (r.error != null) {
+                out.append(String.format(Locale.ROOT, "\"%s\",%d,%s,%d,,,,,,,,false,\"%s\"%n",
+                        r.algorithm, r.size, r.distribution, r.repeat, r.error.replace("\"", "\"\"")));
+                continue;
+            }
+            out.append(String.format(Locale.ROOT, "\"%s\",%d,%s,%d,%.3f,%d,%d,%d,%d,%d,%.0f,%b,%n",
+                    r.algorithm, r.size, r.distribution, r.repeat, r.wallNanos / 1e6, r.comparisons, r.swaps,
+                    r.writes, r.reads, r.allocatedBytes, r.elementsPerSecond(), r.sorted));
+        }
+        return out.toString();
+    }
+
+    static String toJson(List<Result> results) {
+        StringBuilder out = new StringBuilder("[\n");
+        for (int k = 0; k < results.size(); k++) {
+            Result r = results.get(k);
+            if (r.error != null) {
+                out.append(String.format(Locale.ROOT,
+                        "  {\"algorithm\": \"%s\", \"size\": %d, \"distribution\": \"%s\", \"repeat\": %d, \"error\": \"%s\"}",
+                        jsonEscape(r.algorithm), r.size, r.distribution, r.repeat, jsonEscape(r.error)));
+                out.append(k + 1 < results.size() ? ",\n" : "\n");
+                continue;
+            }
+            out.append(String.format(Locale.ROOT,
+                    "  {\"algorithm\": \"%s\", \"size\": %d, \"distribution\": \"%s\", \"repeat\": %d, \"wall_ms\": %.3f, "
+                            + "\"comparisons\": %d, \"swaps\": %d, \"writes\": %d, \"reads\": %d, \"allocated_bytes\": %d, "
+                            + "\"elements_per_sec\": %.0f, \"sorted\": %b}",
+                    jsonEscape(r.algorithm), r.size, r.distribution, r.repeat,
+                    r.wallNanos / 1e6, r.comparisons, r.swaps, r.writes, r.reads, r.allocatedBytes,
+                    r.elementsPerSecond(), r.sorted));
+            out.append(k + 1 < results.size() ? ",\n" : "\n");
+        }
+        return out.append("]\n").toString();
+    }
+
+    private static String jsonEscape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
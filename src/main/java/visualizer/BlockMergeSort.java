@@ -0,0 +1,82 @@
+package visualizer;
+
+/**
+ * Bottom-up Merge Sort that first insertion-sorts blocks small enough to stay
+ * in cache, then merges runs of doubling width in sequential passes through a
+ * temporary buffer. One phase per block and per merge.
+ */
+public class BlockMergeSort implements Algorithm {
+    private static final int BLOCK = 32;
+
+    @Override
+    public String name() {
+        return "Block Merge Sort";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    @Override
+    public boolean isInPlace() {
+        return false;
+    }
+
+    @Override
+    public String complexity() {
+        return "O(n log n)";
+    }
+
+    @Override
+    public void sort(SortArray a) {
+        int n = a.length();
+        for (int from = 0; from < n; from += BLOCK) {
+            insertionSort(a, from, Math.min(n, from + BLOCK));
+        }
+        int[] temp = new int[n];
+        for (int width = BLOCK; width < n; width *= 2) {
+            for (int left = 0; left < n - width; left += 2 * width) {
+                merge(a, left, left + width - 1, Math.min(left + 2 * width - 1, n - 1), temp);
+            }
+        }
+    }
+
+    private static void insertionSort(SortArray a, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int key = a.read(i);
+            int j = i - 1;
+            while (j >= from) {
+                a.compared(j, j + 1);
+                int v = a.read(j);
+                if (v <= key) break;
+                a.write(j + 1, v);
+                j--;
+            }
+            a.write(j + 1, key);
+        }
+        a.phase(from, to - 1);
+    }
+
+    private static void merge(SortArray a, int left, int mid, int right, int[] temp) {
+        for (int i = left; i <= right; i++) {
+            temp[i] = a.read(i);
+        }
+        int i = left, j = mid + 1, k = left;
+        while (i <= mid && j <= right) {
+            a.compared(i, j);
+            if (temp[i] <= temp[j]) {
+                a.write(k++, temp[i++]);
+            } else {
+                a.write(k++, temp[j++]);
+            }
+        }
+        while (i <= mid) {
+            a.write(k++, temp[i++]);
+        }
+        while (j <= right) {
+            a.write(k++, temp[j++]);
+        }
+        a.phase(left, right);
+    }
+}
@@ -0,0 +1,37 @@
+package visualizer;
+
+/** Repeatedly swaps adjacent out-of-order pairs; one phase per pass. */
+public class BubbleSort implements Algorithm {
+    @Override
+    public String name() {
+        return "Bubble Sort";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    @Override
+    public boolean isInPlace() {
+        return true;
+    }
+
+    @Override
+    public String complexity() {
+        return "O(n^2)";
+    }
+
+    @Override
+    public void sort(SortArray a) {
+        int n = a.length();
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = 0; j < n - i - 1; j++) {
+                if (a.compare(j, j + 1) > 0) {
+                    a.swap(j, j + 1);
+                }
+            }
+            a.phase(0, n - i - 1);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package visualizer;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Immediate-mode renderer backed by a single Canvas. Arrays narrower than the
+ * plot area are drawn one bar per element; wider arrays are reduced to one
+ * min/max envelope per pixel column. Value labels are only drawn for small
+ * arrays. A scale below 1 draws the same picture smaller, e.g. for race
+ * tiles. Access counts set with {@link #setHeat} are drawn as a heatmap strip
+ * under the bars, on a log scale.
+ *
+ * <p>{@link #update} repaints only the columns holding dirty indices and the
+ * old and new highlights, each clipped to whole device pixels so shared edge
+ * pixels are redrawn from every bar that touches them. Anything the layout
+ * of the last full render cannot absorb (a new width or length, a value
+ * above the drawn maximum, lanes, labels, too many changes) falls back to a
+ * full render.
+ */
+class CanvasBarRenderer implements BarRenderer {
+    static final int LABEL_THRESHOLD = 100;
+    private static final Color ENVELOPE_COLOR = Color.web("#90CAF9");
+    private static final Font LABEL_FONT = Font.font("System", FontWeight.BOLD, 11);
+    private static final double BASELINE = Main.WINDOW_HEIGHT - Main.BAR_BOTTOM_PADDING;
+    private static final double HEAT_TOP = BASELINE + 8;
+    private static final double HEAT_HEIGHT = 18;
+    private static final Color HEAT_NONE = Color.web("#232348");
+    private static final Font HEAT_FONT = Font.font("System", 11);
+
+    private final Pane barPane;
+    private final Canvas canvas = new Canvas();
+    private final double scale;
+    private int[] mins = new int[0], maxs = new int[0];
+    private long[] heat;
+
+    // Layout of the last full render, reused by update()
+    private boolean drawn;
+    private boolean heatDrawn;
+    private boolean detailed;      // lanes or labels were drawn; those frames are always drawn in full
+    private double shownWidth;     // unscaled canvas width
+    private int shownLength;
+    private int shownMax;          // value drawn at full height
+    private int shownHighlight1 = -1, shownHighlight2 = -1;
+    private int envelopeColumns;   // 0 when drawn one bar per element
+    private double barSpace, barWidth, leftPad;
+
+    CanvasBarRenderer(Pane barPane) {
+        this(barPane, 1);
+    }
+
+    CanvasBarRenderer(Pane barPane, double scale) {
+        this.barPane = barPane;
+        this.scale = scale;
+    }
+
+    /** Access counts per index region to draw under the bars from the next render on, or null for none. */
+    void setHeat(long[] heat) {
+        this.heat = heat;
+    }
+
+    @Override
+    public void render(int[] values, int highlight1, int highlight2, int[] lanes, double paneWidth) {
+        if (canvas.getParent() == null) {
+            barPane.getChildren().add(canvas);
+        }
+        // Everything below is drawn in unscaled coordinates
+        double width = unscaledWidth(paneWidth);
+        if (canvas.getWidth() != width * scale) canvas.setWidth(width * scale);
+        if (canvas.getHeight() != Main.WINDOW_HEIGHT * scale) canvas.setHeight(Main.WINDOW_HEIGHT * scale);
+
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.setTransform(scale, 0, 0, scale, 0, 0);
+        g.setFill(BACKGROUND);
+        g.fillRect(0, 0, width, Main.WINDOW_HEIGHT);
+
+        int n = values.length;
+        drawn = true;
+        detailed = lanes != null;
+        shownWidth = width;
+        shownLength = n;
+        shownHighlight1 = highlight1;
+        shownHighlight2 = highlight2;
+        envelopeColumns = 0;
+        heatDrawn = false;
+        if (n == 0) return;
+        double plotWidth = width - 2 * Main.BAR_LEFT_PADDING;
+        int columns = (int) plotWidth;
+        if (n <= columns) {
+            drawBars(g, values, highlight1, highlight2, lanes, plotWidth);
+        } else {
+            drawEnvelope(g, values, highlight1, highlight2, lanes, columns);
+        }
+        drawHeat(g, n);
+    }
+
+    @Override
+    public void update(int[] values, int highlight1, int highlight2, int[] lanes, DirtyIndices dirty, double paneWidth) {
+        int n = values.length;
+        // Past a quarter of the columns a full pass is about as cheap and keeps the code path simple
+        if (!drawn || detailed || lanes != null || dirty.isAll() || n != shownLength || n == 0 || heatDrawn != (heat != null)
+                || unscaledWidth(paneWidth) != shownWidth
+                || dirty.size() > (envelopeColumns > 0 ? envelopeColumns : n) / 4) {
+            render(values, highlight1, highlight2, lanes, paneWidth);
+            return;
+        }
+        for (int k = 0; k < dirty.size(); k++) {
+            if (values[dirty.get(k)] > shownMax) {
+                render(values, highlight1, highlight2, lanes, paneWidth);
+                return;
+            }
+        }
+
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.setTransform(scale, 0, 0, scale, 0, 0);
+        if (envelopeColumns == 0) {
+            for (int k = 0; k < dirty.size(); k++) {
+                repaintBar(g, values, dirty.get(k), highlight1, highlight2);
+            }
+            repaintBar(g, values, shownHighlight1, highlight1, highlight2);
+            repaintBar(g, values, shownHighlight2, highlight1, highlight2);
+            repaintBar(g, values, highlight1, highlight1, highlight2);
+            repaintBar(g, values, highlight2, highlight1, highlight2);
+        } else {
+            for (int k = 0; k < dirty.size(); k++) {
+                int c = ColumnEnvelope.columnOf(dirty.get(k), n, envelopeColumns);
+                ColumnEnvelope.computeColumn(values, c, envelopeColumns, mins, maxs);
+                if (maxs[c] > shownMax) {
+                    render(values, highlight1, highlight2, lanes, paneWidth);
+                    return;
+                }
+            }
+            for (int k = 0; k < dirty.size(); k++) {
+                int c = ColumnEnvelope.columnOf(dirty.get(k), n, envelopeColumns);
+                repaintColumns(g, n, c, c, highlight1, highlight2);
+            }
+            // Highlights are three pixels wide
+            repaintHighlight(g, n, shownHighlight1, highlight1, highlight2);
+            repaintHighlight(g, n, shownHighlight2, highlight1, highlight2);
+            repaintHighlight(g, n, highlight1, highlight1, highlight2);
+            repaintHighlight(g, n, highlight2, highlight1, highlight2);
+        }
+        drawHeat(g, n);
+        shownHighlight1 = highlight1;
+        shownHighlight2 = highlight2;
+    }
+
+    @Override
+    public void reset() {
+        barPane.getChildren().remove(canvas);
+        drawn = false;
+    }
+
+    private double unscaledWidth(double paneWidth) {
+        return Math.max(paneWidth / scale, 2 * Main.BAR_LEFT_PADDING + 1);
+    }
+
+    private void drawBars(GraphicsContext g, int[] values, int highlight1, int highlight2, int[] lanes, double plotWidth) {
+        int n = values.length;
+        barSpace = Math.min(Main.BAR_WIDTH + Main.BAR_GAP, plotWidth / n);
+        barWidth = barSpace >= 4 ? barSpace * Main.BAR_WIDTH / (Main.BAR_WIDTH + Main.BAR_GAP) : barSpace;
+        leftPad = Main.BAR_LEFT_PADDING + (plotWidth - n * barSpace) / 2;
+        shownMax = BarRenderer.maxOf(values);
+        double scale = MAX_BAR_HEIGHT / shownMax;
+
+        g.setFill(BAR_COLOR);
+        for (int i = 0; i < n; i++) {
+            double height = values[i] * scale;
+            g.fillRect(leftPad + i * barSpace, BASELINE - height, barWidth, height);
+        }
+        if (lanes != null) {
+            for (int k = 0; k < lanes.length; k++) {
+                int i = lanes[k];
+                if (i < 0 || i >= n) continue;
+                g.setFill(BarRenderer.laneColor(k / 2));
+                g.fillRect(leftPad + i * barSpace, BASELINE - values[i] * scale, barWidth, values[i] * scale);
+            }
+        }
+        g.setFill(HIGHLIGHT_COLOR);
+        if (highlight1 >= 0 && highlight1 < n) {
+            g.fillRect(leftPad + highlight1 * barSpace, BASELINE - values[highlight1] * scale, barWidth, values[highlight1] * scale);
+        }
+        if (highlight2 >= 0 && highlight2 < n) {
+            g.fillRect(leftPad + highlight2 * barSpace, BASELINE - values[highlight2] * scale, barWidth, values[highlight2] * scale);
+        }
+
+        if (n <= LABEL_THRESHOLD && barWidth >= 12) {
+            detailed = true;
+            g.setFill(Color.WHITE);
+            g.setFont(LABEL_FONT);
+            g.setTextAlign(TextAlignment.CENTER);
+            g.setTextBaseline(VPos.BOTTOM);
+            for (int i = 0; i < n; i++) {
+                g.fillText(String.valueOf(values[i]), leftPad + i * barSpace + barWidth / 2, BASELINE - values[i] * scale - 2);
+            }
+        }
+    }
+
+    /** Redraws the pixel columns under bar {@code i}, including the neighbours sharing their edges. */
+    private void repaintBar(GraphicsContext g, int[] values, int i, int highlight1, int highlight2) {
+        int n = values.length;
+        if (i < 0 || i >= n) return;
+        double x0 = snapDown(leftPad + i * barSpace), x1 = snapUp(leftPad + (i + 1) * barSpace);
+        clip(g, x0, x1);
+        double scale = MAX_BAR_HEIGHT / shownMax;
+        int from = Math.max(0, (int) Math.floor((x0 - leftPad) / barSpace));
+        int to = Math.min(n - 1, (int) ((x1 - leftPad) / barSpace));
+        for (int k = from; k <= to; k++) {
+            g.setFill(k == highlight1 || k == highlight2 ? HIGHLIGHT_COLOR : BAR_COLOR);
+            g.fillRect(leftPad + k * barSpace, BASELINE - values[k] * scale, barWidth, values[k] * scale);
+        }
+        g.restore();
+    }
+
+    private void drawEnvelope(GraphicsContext g, int[] values, int highlight1, int highlight2, int[] lanes, int columns) {
+        if (mins.length < columns) {
+            mins = new int[columns];
+            maxs = new int[columns];
+        }
+        ColumnEnvelope.compute(values, columns, mins, maxs);
+        // The column maxima already hold the largest value, so the scale costs no extra pass
+        int max = 1;
+        for (int c = 0; c < columns; c++) max = Math.max(max, maxs[c]);
+        envelopeColumns = columns;
+        shownMax = max;
+        drawColumns(g, 0, columns - 1);
+
+        int n = values.length;
+        double scale = MAX_BAR_HEIGHT / max;
+        double left = Main.BAR_LEFT_PADDING;
+        if (lanes != null) {
+            for (int k = 0; k < lanes.length; k++) {
+                int i = lanes[k];
+                if (i < 0 || i >= n) continue;
+                int c = ColumnEnvelope.columnOf(i, n, columns);
+                g.setFill(BarRenderer.laneColor(k / 2));
+                g.fillRect(left + c - 1, BASELINE - maxs[c] * scale, 3, maxs[c] * scale);
+            }
+        }
+        drawHighlight(g, n, highlight1);
+        drawHighlight(g, n, highlight2);
+    }
+
+    private void drawColumns(GraphicsContext g, int from, int to) {
+        double scale = MAX_BAR_HEIGHT / shownMax;
+        double left = Main.BAR_LEFT_PADDING;
+        g.setFill(BAR_COLOR);
+        for (int c = from; c <= to; c++) {
+            g.fillRect(left + c, BASELINE - mins[c] * scale, 1, mins[c] * scale);
+        }
+        g.setFill(ENVELOPE_COLOR);
+        for (int c = from; c <= to; c++) {
+            if (maxs[c] > mins[c]) g.fillRect(left + c, BASELINE - maxs[c] * scale, 1, (maxs[c] - mins[c]) * scale);
+        }
+    }
+
+    private void drawHighlight(GraphicsContext g, int n, int highlight) {
+        if (highlight < 0 || highlight >= n) return;
+        int c = ColumnEnvelope.columnOf(highlight, n, envelopeColumns);
+        double scale = MAX_BAR_HEIGHT / shownMax;
+        g.setFill(HIGHLIGHT_COLOR);
+        g.fillRect(Main.BAR_LEFT_PADDING + c - 1, BASELINE - maxs[c] * scale, 3, maxs[c] * scale);
+    }
+
+    /** Redraws the columns a highlight of {@code index} covers, old or new. */
+    private void repaintHighlight(GraphicsContext g, int n, int index, int highlight1, int highlight2) {
+        if (index < 0 || index >= n) return;
+        int c = ColumnEnvelope.columnOf(index, n, envelopeColumns);
+        repaintColumns(g, n, c - 1, c + 1, highlight1, highlight2);
+    }
+
+    /** Redraws envelope columns {@code from..to} and any highlight overlapping them. */
+    private void repaintColumns(GraphicsContext g, int n, int from, int to, int highlight1, int highlight2) {
+        double left = Main.BAR_LEFT_PADDING;
+        double x0 = snapDown(left + Math.max(0, from)), x1 = snapUp(left + Math.min(envelopeColumns, to + 1));
+        clip(g, x0, x1);
+        drawColumns(g, Math.max(0, (int) Math.floor(x0 - left)), Math.min(envelopeColumns - 1, (int) (x1 - left)));
+        drawHighlight(g, n, highlight1);
+        drawHighlight(g, n, highlight2);
+        g.restore();
+    }
+
+    /**
+     * Clears and clips to the strip between {@code x0} and {@code x1} above the
+     * baseline, leaving the heatmap alone; pair with {@code g.restore()}.
+     */
+    private static void clip(GraphicsContext g, double x0, double x1) {
+        g.save();
+        g.beginPath();
+        g.rect(x0, 0, x1 - x0, BASELINE);
+        g.clip();
+        g.setFill(BACKGROUND);
+        g.fillRect(x0, 0, x1 - x0, BASELINE);
+    }
+
+    /** Draws the heat strip under the bars; region r starts at the first index i with i * regions / n == r. */
+    private void drawHeat(GraphicsContext g, int n) {
+        if (heat == null || heat.length == 0 || heat.length > n) return;
+        heatDrawn = true;
+        int regions = heat.length;
+        long max = 1;
+        for (long count : heat) max = Math.max(max, count);
+        double logMax = Math.log1p(max);
+        g.setFill(BACKGROUND);
+        g.fillRect(0, HEAT_TOP, shownWidth, HEAT_HEIGHT);
+        double x0 = heatX(0, n);
+        for (int r = 0; r < regions; r++) {
+            double x1 = heatX((int) (((long) (r + 1) * n + regions - 1) / regions), n);
+            double t = Math.log1p(heat[r]) / logMax;
+            g.setFill(heat[r] == 0 ? HEAT_NONE : Color.hsb(60 * t, 1, 0.3 + 0.7 * t));
+            g.fillRect(x0, HEAT_TOP, x1 - x0, HEAT_HEIGHT);
+            x0 = x1;
+        }
+        g.setFill(Color.web("#B0BEC5"));
+        g.setFont(HEAT_FONT);
+        g.setTextAlign(TextAlignment.RIGHT);
+        g.setTextBaseline(VPos.CENTER);
+        g.fillText("Accesses", Main.BAR_LEFT_PADDING - 6, HEAT_TOP + HEAT_HEIGHT / 2);
+    }
+
+    /** Left edge of element {@code i} in the last layout. */
+    private double heatX(int i, int n) {
+        return envelopeColumns > 0 ? Main.BAR_LEFT_PADDING + (double) i * envelopeColumns / n : leftPad + i * barSpace;
+    }
+
+    // Strips are widened to whole device pixels, which differ from canvas units at a scale below 1
+    private double snapDown(double x) {
+        return Math.floor(x * scale) / scale;
+    }
+
+    private double snapUp(double x) {
+        return Math.ceil(x * scale) / scale;
+    }
+}
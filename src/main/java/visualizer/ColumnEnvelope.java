@@ -0,0 +1,44 @@
+package visualizer;
+
+/**
+ * Collapses an array that is wider than the screen into pixel columns. Each
+ * column keeps the minimum and maximum of the elements that fall into it so
+ * spikes survive the down-sampling.
+ */
+final class ColumnEnvelope {
+    private ColumnEnvelope() {
+    }
+
+    /** Fills mins/maxs for the first {@code columns} columns of {@code values}. */
+    static void compute(int[] values, int columns, int[] mins, int[] maxs) {
+        for (int c = 0; c < columns; c++) {
+            computeColumn(values, c, columns, mins, maxs);
+        }
+    }
+
+    /** Refills mins/maxs for column {@code c} alone, e.g. after one of its elements changed. */
+    static void computeColumn(int[] values, int c, int columns, int[] mins, int[] maxs) {
+        int n = values.length;
+        int start = start(c, n, columns);
+        int end = start(c + 1, n, columns);
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int i = start; i < end; i++) {
+            int v = values[i];
+            if (v < min) min = v;
+            if (v > max) max = v;
+        }
+        if (start == end) min = max = 0;
+        mins[c] = min;
+        maxs[c] = max;
+    }
+
+    /** First element index of column {@code c}. */
+    static int start(int c, int n, int columns) {
+        return (int) ((long) c * n / columns);
+    }
+
+    /** Column that element {@code index} falls into. */
+    static int columnOf(int index, int n, int columns) {
+        return (int) (((long) (index + 1) * columns - 1) / n);
+    }
+}
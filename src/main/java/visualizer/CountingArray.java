@@ -0,0 +1,51 @@
+package visualizer;
+
+/**
+ * SortArray over a plain int[] that only counts operations, for headless
+ * runs where no trace is needed.
+ */
+final class CountingArray implements SortArray {
+    private final int[] values;
+    long reads, writes, comparisons, swaps;
+
+    CountingArray(int[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public int length() {
+        return values.length;
+    }
+
+    @Override
+    public int read(int i) {
+        reads++;
+        return values[i];
+    }
+
+    @Override
+    public void write(int i, int value) {
+        writes++;
+        values[i] = value;
+    }
+
+    @Override
+    public int compare(int i, int j) {
+        comparisons++;
+        reads += 2;
+        return Integer.compare(values[i], values[j]);
+    }
+
+    @Override
+    public void swap(int i, int j) {
+        swaps++;
+        int temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+    }
+
+    @Override
+    public void compared(int i, int j) {
+        comparisons++;
+    }
+}
@@ -0,0 +1,58 @@
+package visualizer;
+
+/**
+ * Counting Sort: counts each value between the minimum and the maximum, then
+ * writes the values back in order. Needs a value range of at most
+ * {@link #MAX_RANGE}. One phase for the counting pass and one for the output.
+ */
+public class CountingSort implements Algorithm {
+    static final int MAX_RANGE = 1 << 24;
+
+    @Override
+    public String name() {
+        return "Counting Sort";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    @Override
+    public boolean isInPlace() {
+        return false;
+    }
+
+    @Override
+    public String complexity() {
+        return "O(n + k)";
+    }
+
+    @Override
+    public void sort(SortArray a) {
+        int n = a.length();
+        if (n == 0) return;
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            int v = a.read(i);
+            if (v < min) min = v;
+            if (v > max) max = v;
+        }
+        long range = (long) max - min + 1;
+        if (range > MAX_RANGE) {
+            throw new IllegalArgumentException("Counting Sort needs a value range of at most " + MAX_RANGE + ", not " + range);
+        }
+        int[] counts = new int[(int) range];
+        for (int i = 0; i < n; i++) {
+            counts[a.read(i) - min]++;
+        }
+        a.phase(0, n - 1);
+        int k = 0;
+        for (int v = 0; v < counts.length; v++) {
+            for (int c = counts[v]; c > 0; c--) {
+                a.write(k++, v + min);
+            }
+        }
+        a.phase(0, n - 1);
+    }
+}
@@ -0,0 +1,91 @@
+package visualizer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Least-recently-used cache of generated inputs keyed by (distribution, size,
+ * seed), bounded by the bytes of the arrays it holds. Cached arrays are shared:
+ * callers copy them before sorting. Generation runs outside the lock, so two
+ * threads missing on the same key may both generate it; the arrays are equal.
+ */
+final class DatasetCache {
+    /** Shared by the visualizer, race mode and headless runs; a quarter of the heap at most. */
+    static final DatasetCache SHARED = new DatasetCache(Runtime.getRuntime().maxMemory() / 4);
+
+    private static final class Key {
+        final Distribution distribution;
+        final int size;
+        final long seed;
+
+        Key(Distribution distribution, int size, long seed) {
+            this.distribution = distribution;
+            this.size = size;
+            this.seed = seed;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return distribution == other.distribution && size == other.size && seed == other.seed;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(distribution, size, seed);
+        }
+    }
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, int[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits, misses;
+
+    DatasetCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** The input for this key, generated on a miss. Do not modify the returned array. */
+    int[] get(Distribution distribution, int size, long seed) {
+        Key key = new Key(distribution, size, seed);
+        synchronized (this) {
+            int[] cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        int[] values = distribution.generate(size, seed);
+        synchronized (this) {
+            if (entries.put(key, values) == null) bytes += 4L * size;
+            evict();
+        }
+        return values;
+    }
+
+    synchronized long hits() {
+        return hits;
+    }
+
+    synchronized long misses() {
+        return misses;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, int[]>> it = entries.entrySet().iterator();
+        // The newest entry stays even if it alone is over budget
+        while (bytes > maxBytes && entries.size() > 1) {
+            bytes -= 4L * it.next().getValue().length;
+            it.remove();
+        }
+    }
+}
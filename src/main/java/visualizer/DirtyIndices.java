@@ -0,0 +1,66 @@
+package visualizer;
+
+import java.util.Arrays;
+
+/**
+ * Array indices whose values changed since the last frame the FX thread
+ * drew, so renderers can repaint those columns instead of every bar. The set
+ * can also mean "everything": that is its initial state, and it falls back
+ * to it when too many indices pile up to be worth listing, or when a
+ * producer cannot tell what changed (a seek, a parallel sort). Duplicates
+ * are kept; repainting a column twice is cheaper than deduplicating.
+ */
+final class DirtyIndices {
+    static final int MAX_LISTED = 4096;
+
+    private int[] indices = new int[16];
+    private int size;
+    private boolean all = true;
+
+    void add(int index) {
+        if (all) return;
+        if (size == MAX_LISTED) {
+            markAll();
+            return;
+        }
+        if (size == indices.length) indices = Arrays.copyOf(indices, size * 2);
+        indices[size++] = index;
+    }
+
+    void addAll(DirtyIndices other) {
+        if (other.all) {
+            markAll();
+            return;
+        }
+        for (int k = 0; k < other.size; k++) add(other.indices[k]);
+    }
+
+    /** Replaces the contents with those of {@code other}. */
+    void set(DirtyIndices other) {
+        clear();
+        addAll(other);
+    }
+
+    void markAll() {
+        all = true;
+        size = 0;
+    }
+
+    void clear() {
+        all = false;
+        size = 0;
+    }
+
+    boolean isAll() {
+        return all;
+    }
+
+    /** Number of listed indices; meaningless when {@link #isAll()}. */
+    int size() {
+        return size;
+    }
+
+    int get(int k) {
+        return indices[k];
+    }
+}
@@ -0,0 +1,162 @@
+package visualizer;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Input shapes for the visualizer, headless runs and benchmarks. Values are
+ * plain data, independent of how tall the bars are drawn. Arrays are filled
+ * in parallel blocks, each with its own SplittableRandom split off the seed in
+ * block order, so the same seed always gives the same array no matter how many
+ * threads do the work.
+ */
+enum Distribution {
+    RANDOM("random"),
+    SORTED("sorted"),
+    REVERSED("reversed"),
+    FEW_UNIQUE("few-unique"),
+    NEARLY_SORTED("nearly-sorted"),
+    GAUSSIAN("gaussian"),
+    ZIPF("zipf"),
+    SORTED_RUNS("sorted-runs"),
+    SAWTOOTH("sawtooth"),
+    ORGAN_PIPE("organ-pipe"),
+    QUICKSORT_KILLER("quicksort-killer");
+
+    private static final int BLOCK = 1 << 16;
+    // Zipf ranks beyond this are too rare to matter and would only grow the table
+    private static final int ZIPF_RANKS = 1 << 16;
+    private static final double ZIPF_EXPONENT = 1.0;
+
+    final String id;
+
+    Distribution(String id) {
+        this.id = id;
+    }
+
+    static Distribution of(String id) {
+        for (Distribution d : values()) {
+            if (d.id.equals(id)) return d;
+        }
+        throw new IllegalArgumentException("Unknown distribution: " + id);
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+    /** A new array of {@code size} elements; the same seed always gives the same array. */
+    int[] generate(int size, long seed) {
+        int[] a = new int[size];
+        SplittableRandom[] randoms = blockRandoms(size, seed);
+        double[] zipf = this == ZIPF ? zipfTable(Math.min(size, ZIPF_RANKS)) : null;
+        IntStream.range(0, randoms.length).parallel().forEach(b ->
+                fill(a, 0, b * BLOCK, Math.min(size, (b + 1) * BLOCK), size, randoms[b], zipf));
+        return a;
+    }
+
+    /**
+     * Fills {@code target} with the values {@link #generate} gives for its
+     * length and seed, staging one block at a time on the heap.
+     */
+    void generate(OffHeapIntArray target, long seed) {
+        if (target.length() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many elements: " + target.length());
+        }
+        int size = (int) target.length();
+        SplittableRandom[] randoms = blockRandoms(size, seed);
+        double[] zipf = this == ZIPF ? zipfTable(Math.min(size, ZIPF_RANKS)) : null;
+        IntStream.range(0, randoms.length).parallel().forEach(b -> {
+            int from = b * BLOCK, to = Math.min(size, (b + 1) * BLOCK);
+            int[] block = new int[to - from];
+            fill(block, from, from, to, size, randoms[b], zipf);
+            target.copyFrom(block, from);
+        });
+    }
+
+    private static SplittableRandom[] blockRandoms(int size, long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[(size + BLOCK - 1) / BLOCK];
+        for (int b = 0; b < randoms.length; b++) randoms[b] = root.split();
+        return randoms;
+    }
+
+    /** Fills elements [from, to) of an array of {@code size}; element i is stored at a[i - offset]. */
+    private void fill(int[] a, int offset, int from, int to, int size, SplittableRandom rand, double[] zipf) {
+        switch (this) {
+            case SORTED:
+                for (int i = from; i < to; i++) a[i - offset] = i;
+                break;
+            case REVERSED:
+                for (int i = from; i < to; i++) a[i - offset] = size - i;
+                break;
+            case FEW_UNIQUE:
+                for (int i = from; i < to; i++) a[i - offset] = rand.nextInt(8);
+                break;
+            case NEARLY_SORTED:
+                // Sorted, then about 1% of the elements swapped with a near neighbour inside the block
+                for (int i = from; i < to; i++) a[i - offset] = i;
+                for (int k = 0; k < (to - from) / 100; k++) {
+                    int i = from + rand.nextInt(to - from);
+                    int j = Math.min(to - 1, i + 1 + rand.nextInt(8));
+                    int temp = a[i - offset];
+                    a[i - offset] = a[j - offset];
+                    a[j - offset] = temp;
+                }
+                break;
+            case GAUSSIAN:
+                for (int i = from; i < to; i++) {
+                    double value = size / 2.0 + rand.nextGaussian() * size / 6.0;
+                    a[i - offset] = (int) Math.max(0, Math.min(size - 1, value));
+                }
+                break;
+            case ZIPF:
+                // Rank r is drawn with probability proportional to 1 / r^s
+                for (int i = from; i < to; i++) {
+                    int r = Arrays.binarySearch(zipf, rand.nextDouble());
+                    a[i - offset] = (r >= 0 ? r : -r - 1) + 1;
+                }
+                break;
+            case SORTED_RUNS: {
+                // Power-of-two runs divide the block, so no run crosses into a neighbour's block
+                int run = Math.min(BLOCK, Math.max(2, Integer.highestOneBit((int) Math.sqrt(size))));
+                for (int i = from; i < to; i++) a[i - offset] = rand.nextInt(Math.max(1, size));
+                for (int start = from; start < to; start += run) {
+                    Arrays.sort(a, start - offset, Math.min(to, start + run) - offset);
+                }
+            } break;
+            case SAWTOOTH: {
+                int period = Math.max(2, (int) Math.sqrt(size));
+                for (int i = from; i < to; i++) a[i - offset] = i % period;
+            } break;
+            case ORGAN_PIPE:
+                for (int i = from; i < to; i++) a[i - offset] = i < size / 2 ? i : size - 1 - i;
+                break;
+            case QUICKSORT_KILLER:
+                // Reversed, except that the largest value comes last. The last-element-pivot Quick Sorts
+                // then pick the largest and the smallest value left as pivot, alternately, and take
+                // quadratic time. The largest pivot moves nothing; the smallest swaps with the first
+                // element, which puts the next largest last again.
+                for (int i = from; i < to; i++) a[i - offset] = i == size - 1 ? size - 1 : size - 2 - i;
+                break;
+            default:
+                for (int i = from; i < to; i++) a[i - offset] = rand.nextInt(Math.max(1, size));
+                break;
+        }
+    }
+
+    /** Cumulative Zipf probabilities of ranks 1..ranks, the last one exactly 1. */
+    private static double[] zipfTable(int ranks) {
+        double[] cumulative = new double[Math.max(1, ranks)];
+        double sum = 0;
+        for (int r = 0; r < cumulative.length; r++) {
+            sum += 1 / Math.pow(r + 1, ZIPF_EXPONENT);
+            cumulative[r] = sum;
+        }
+        for (int r = 0; r < cumulative.length; r++) cumulative[r] /= sum;
+        cumulative[cumulative.length - 1] = 1;
+        return cumulative;
+    }
+}
@@ -0,0 +1,18 @@
+package visualizer;
+
+/**
+ * Read side of a recorded run: the input array and the packed events in
+ * order, held in memory ({@link Trace}) or in a file ({@link TraceFile}).
+ */
+interface EventSource {
+    /** Number of array elements. */
+    int length();
+
+    /** Number of events. */
+    long size();
+
+    long event(long k);
+
+    /** A copy of the array as it was before the first event. */
+    int[] initial();
+}
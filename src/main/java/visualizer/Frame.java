@@ -0,0 +1,49 @@
+package visualizer;
+
+/**
+ * What the worker wants on screen: the array contents, the highlighted
+ * indices, per-worker highlight lanes of a parallel sort (two indices per
+ * lane, or null), the counters, the replay position (or -1 when the run is
+ * not replaying a trace) and an optional status message that replaces the
+ * counters in the info bar, plus the indices that changed since the frame
+ * the FX thread drew before it. Frames are owned by the {@link FramePump} and
+ * reused: a producer fills one only while the pump hands it out, and the FX
+ * thread reads one only after the pump has handed it over.
+ */
+final class Frame {
+    /** Run that filled this frame; frames of older runs are never shown. */
+    long generation;
+    int[] values = new int[0];
+    int highlight1 = -1, highlight2 = -1;
+    int[] lanes;
+    long comparisons, swaps, writes;
+    long position = -1, total;
+    String status;
+    /** Access counts per index region (see {@link AccessHeat}), or null when the run does not keep them. */
+    long[] heat;
+    /** Changes since the last frame that was taken, including any frames dropped in between. */
+    final DirtyIndices dirty = new DirtyIndices();
+
+    /** Value buffer of the given size, reused when possible. */
+    int[] values(int size) {
+        if (values.length != size) values = new int[size];
+        return values;
+    }
+
+    /** Copies the array contents into the reused value buffer. */
+    void copyValues(int[] source) {
+        System.arraycopy(source, 0, values(source.length), 0, source.length);
+    }
+
+    /** Copies access counts into the reused heat buffer. */
+    void copyHeat(long[] source) {
+        if (heat == null || heat.length != source.length) heat = new long[source.length];
+        System.arraycopy(source, 0, heat, 0, source.length);
+    }
+
+    /** Lane buffer of the given size, reused when possible. */
+    int[] lanes(int size) {
+        if (lanes == null || lanes.length != size) lanes = new int[size];
+        return lanes;
+    }
+}
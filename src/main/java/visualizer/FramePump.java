@@ -0,0 +1,66 @@
+package visualizer;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Renders frames from any number of {@link FrameSlot}s once per pulse, so at
+ * most one frame per slot is drawn per vsync no matter how fast the workers
+ * publish. The time each pulse spends rendering goes to {@link Metrics}.
+ * Slots are added and removed on the FX thread.
+ */
+class FramePump extends AnimationTimer {
+    private static final class Entry {
+        final FrameSlot slot;
+        final Consumer<Frame> renderer;
+
+        Entry(FrameSlot slot, Consumer<Frame> renderer) {
+            this.slot = slot;
+            this.renderer = renderer;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Metrics metrics;
+
+    FramePump(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    void add(FrameSlot slot, Consumer<Frame> renderer) {
+        entries.add(new Entry(slot, renderer));
+    }
+
+    void remove(FrameSlot slot) {
+        entries.removeIf(entry -> entry.slot == slot);
+    }
+
+    /** Renders the slot's pending frame now, if there is one. */
+    void flush(FrameSlot slot) {
+        for (Entry entry : entries) {
+            if (entry.slot == slot) render(entry);
+        }
+    }
+
+    @Override
+    public void handle(long now) {
+        long start = System.nanoTime();
+        boolean rendered = false;
+        for (int k = 0; k < entries.size(); k++) {
+            rendered |= render(entries.get(k));
+        }
+        if (rendered) {
+            metrics.recordFrame(System.nanoTime() - start);
+        }
+    }
+
+    private boolean render(Entry entry) {
+        Frame frame = entry.slot.take();
+        if (frame == null) return false;
+        entry.renderer.accept(frame);
+        return true;
+    }
+}
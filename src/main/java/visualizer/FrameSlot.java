@@ -0,0 +1,87 @@
+package visualizer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Triple-buffered hand-off of one stream of frames from its producers to the
+ * FX thread. A producer fills the back frame and swaps it with the middle one;
+ * {@link #take()} swaps the middle frame with the front one, so neither side
+ * ever waits for the other and no frame is written while it is on screen.
+ * Frames overwritten before they were taken are counted as dropped, and
+ * frames stamped with a generation other than the current one are ignored.
+ * A frame's dirty indices start as "everything" for writers that do not
+ * track changes, and a frame replacing an untaken one inherits its dirty
+ * indices, so the FX thread never misses a change it did not see.
+ */
+final class FrameSlot {
+    /** Filled in by a producer from its own state. */
+    interface Writer {
+        void write(Frame frame);
+    }
+
+    private static final int FRESH = 4;   // set on the middle index when it holds an untaken frame
+
+    private final Frame[] frames = {new Frame(), new Frame(), new Frame()};
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private final Object producerLock = new Object();
+    private int back = 0;    // guarded by producerLock
+    private int front = 2;   // FX thread only
+    private final AtomicLong dropped = new AtomicLong();
+    private final LongSupplier generation;
+
+    FrameSlot(LongSupplier generation) {
+        this.generation = generation;
+    }
+
+    /**
+     * Called from a worker; never waits for the FX thread. Producers only
+     * serialize among themselves (lanes of a parallel sort, or a stale run
+     * that has not noticed it was stopped), and a writer whose run is no
+     * longer current is not called at all.
+     */
+    void publish(long runGeneration, Writer writer) {
+        synchronized (producerLock) {
+            if (runGeneration != generation.getAsLong()) return;
+            Frame frame = frames[back];
+            frame.generation = runGeneration;
+            frame.dirty.markAll();
+            writer.write(frame);
+            // If the FX thread takes the middle frame meanwhile, the extra indices only cost a repaint
+            int pending = middle.get();
+            if ((pending & FRESH) != 0) {
+                frame.dirty.addAll(frames[pending & ~FRESH].dirty);
+            }
+            int previous = middle.getAndSet(back | FRESH);
+            if ((previous & FRESH) != 0) {
+                dropped.incrementAndGet();
+            }
+            back = previous & ~FRESH;
+        }
+    }
+
+    /**
+     * The newest frame of the current generation, or null if nothing new was
+     * published; FX thread only. The frame stays untouched until the next call.
+     */
+    Frame take() {
+        if ((middle.get() & FRESH) == 0) return null;
+        front = middle.getAndSet(front) & ~FRESH;
+        Frame frame = frames[front];
+        return frame.generation == generation.getAsLong() ? frame : null;
+    }
+
+    /** Discards a pending frame, e.g. after Stop. */
+    void clear() {
+        middle.getAndUpdate(state -> state & ~FRESH);
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+
+    void resetDropped() {
+        dropped.set(0);
+    }
+}
@@ -0,0 +1,55 @@
+package visualizer;
+
+/** Max-heap Heap Sort; one phase per sift-down. */
+public class HeapSort implements Algorithm {
+    @Override
+    public String name() {
+        return "Heap Sort";
+    }
+
+    @Override
+    public boolean isStable() {
+        return false;
+    }
+
+    @Override
+    public boolean isInPlace() {
+        return true;
+    }
+
+    @Override
+    public String complexity() {
+        return "O(n log n)";
+    }
+
+    @Override
+    public void sort(SortArray a) {
+        int n = a.length();
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            heapify(a, n, i);
+            a.phase(i, n - 1);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            a.swap(0, i);
+            heapify(a, i, 0);
+            a.phase(0, i - 1);
+        }
+    }
+
+    private static void heapify(SortArray a, int n, int i) {
+        while (true) {
+            int largest = i;
+            int l = 2 * i + 1;
+            int r = 2 * i + 2;
+            if (l < n && a.compare(l, largest) > 0) {
+                largest = l;
+            }
+            if (r < n && a.compare(r, largest) > 0) {
+                largest = r;
+            }
+            if (largest == i) return;
+            a.swap(i, largest);
+            i = largest;
+        }
+    }
+}
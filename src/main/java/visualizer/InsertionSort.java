@@ -0,0 +1,42 @@
+package visualizer;
+
+/** Shifts larger elements right to insert each key; one phase per insertion. */
+public class InsertionSort implements Algorithm {
+    @Override
+    public String name() {
+        return "Insertion Sort";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    @Override
+    public boolean isInPlace() {
+        return true;
+    }
+
+    @Override
+    public String complexity() {
+        return "O(n^2)";
+    }
+
+    @Override
+    public void sort(SortArray a) {
+        int n = a.length();
+        for (int i = 1; i < n; i++) {
+            int key = a.read(i);
+            int j = i - 1;
+            while (j >= 0) {
+                a.compared(j, j + 1);
+                int v = a.read(j);
+                if (v <= key) break;
+                a.write(j + 1, v);
+                j--;
+            }
+            a.write(j + 1, key);
+            a.phase(j + 1, i);
+        }
+    }
+}
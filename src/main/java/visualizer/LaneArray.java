@@ -0,0 +1,158 @@
+package visualizer;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Array shared by the workers of a parallel sort. When a hook is installed
+ * every operation is counted, remembered as the highlight pair of the lane
+ * (pool worker) that performed it, and reported to the hook. Hooked arrays
+ * also feed {@link Metrics}. Without a hook the operations are plain array
+ * accesses, for timing runs.
+ *
+ * <p>Hooked swaps hold a shared lock that {@link #copyValues} takes
+ * exclusively, so a snapshot never shows a half-done swap. Compares and
+ * single writes cannot tear and stay lock-free.
+ *
+ * <p>The sorts poll {@link #checkCancelled()} every few thousand operations,
+ * which is how an unhooked timing run notices Stop: interrupting the thread
+ * that waits for the pool does not stop tasks that are already running.
+ */
+final class LaneArray {
+    interface OpHook {
+        /** Called by the worker thread after each operation. */
+        void onOp(LaneArray array);
+    }
+
+    final int[] values;
+    final LongAdder comparisons = new LongAdder();
+    final LongAdder swaps = new LongAdder();
+    final LongAdder writes = new LongAdder();
+    private final int lanes;
+    private final AtomicIntegerArray highlights;
+    private final OpHook hook;
+    private final Metrics metrics;
+    private final StampedLock swapLock = new StampedLock();
+    private final BooleanSupplier cancelled;
+
+    LaneArray(int[] values, int lanes, OpHook hook) {
+        this(values, lanes, hook, null);
+    }
+
+    LaneArray(int[] values, int lanes, OpHook hook, Metrics metrics) {
+        this(values, lanes, hook, metrics, () -> false);
+    }
+
+    LaneArray(int[] values, int lanes, OpHook hook, Metrics metrics, BooleanSupplier cancelled) {
+        this.values = values;
+        this.cancelled = cancelled;
+        this.lanes = Math.max(1, lanes);
+        this.highlights = new AtomicIntegerArray(2 * this.lanes);
+        this.hook = hook;
+        this.metrics = hook != null ? metrics : null;
+        for (int k = 0; k < highlights.length(); k++) highlights.set(k, -1);
+    }
+
+    int length() {
+        return values.length;
+    }
+
+    /** Throws {@link CancellationException} once the run has been cancelled. */
+    void checkCancelled() {
+        if (cancelled.getAsBoolean()) throw new CancellationException();
+    }
+
+    int get(int i) {
+        if (metrics != null) metrics.reads.increment();
+        return values[i];
+    }
+
+    int compare(int i, int j) {
+        int result = Integer.compare(values[i], values[j]);
+        if (hook != null) {
+            comparisons.increment();
+            if (metrics != null) {
+                metrics.comparisons.increment();
+                metrics.reads.add(2);
+            }
+            mark(i, j);
+            hook.onOp(this);
+        }
+        return result;
+    }
+
+    void swap(int i, int j) {
+        if (hook == null) {
+            exchange(i, j);
+            return;
+        }
+        long stamp = swapLock.readLock();
+        try {
+            exchange(i, j);
+        } finally {
+            swapLock.unlockRead(stamp);
+        }
+        swaps.increment();
+        if (metrics != null) {
+            metrics.swaps.increment();
+            metrics.reads.add(2);
+        }
+        mark(i, j);
+        hook.onOp(this);
+    }
+
+    void set(int i, int value) {
+        values[i] = value;
+        if (hook != null) {
+            writes.increment();
+            if (metrics != null) metrics.writes.increment();
+            mark(i, -1);
+            hook.onOp(this);
+        }
+    }
+
+    /** Copies the array between swaps, never in the middle of one. */
+    void copyValues(int[] target) {
+        long stamp = swapLock.writeLock();
+        try {
+            System.arraycopy(values, 0, target, 0, values.length);
+        } finally {
+            swapLock.unlockWrite(stamp);
+        }
+    }
+
+    /** Number of lane entries: two highlighted indices per lane. */
+    int laneEntries() {
+        return highlights.length();
+    }
+
+    /** Copies the highlighted index pairs, -1 where a lane is idle. */
+    void copyLanes(int[] target) {
+        for (int k = 0; k < target.length; k++) target[k] = highlights.get(k);
+    }
+
+    void clearLanes() {
+        for (int k = 0; k < highlights.length(); k++) highlights.set(k, -1);
+    }
+
+    private void exchange(int i, int j) {
+        int temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+    }
+
+    private void mark(int i, int j) {
+        int lane = lane();
+        highlights.set(2 * lane, i);
+        highlights.set(2 * lane + 1, j);
+    }
+
+    private int lane() {
+        Thread t = Thread.currentThread();
+        return t instanceof ForkJoinWorkerThread ? ((ForkJoinWorkerThread) t).getPoolIndex() % lanes : 0;
+    }
+}
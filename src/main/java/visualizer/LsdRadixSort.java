@@ -0,0 +1,67 @@
+package visualizer;
+
+/**
+ * Least-significant-digit Radix Sort, one byte per pass through a buffer;
+ * passes where every key has the same digit are skipped. One phase per pass.
+ */
+public class LsdRadixSort implements Algorithm {
+    private static final int BITS = 8;
+    private static final int RADIX = 1 << BITS;
+
+    @Override
+    public String name() {
+        return "LSD Radix Sort";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    @Override
+    public boolean isInPlace() {
+        return false;
+    }
+
+    @Override
+    public String complexity() {
+        return "O(n * w)";
+    }
+
+    @Override
+    public void sort(SortArray a) {
+        int n = a.length();
+        int[] buffer = new int[n];
+        for (int shift = 0; shift < Integer.SIZE; shift += BITS) {
+            int[] starts = new int[RADIX + 1];
+            for (int i = 0; i < n; i++) {
+                starts[digit(a.read(i), shift) + 1]++;
+            }
+            if (singleDigit(starts, n)) continue;
+            for (int d = 0; d < RADIX; d++) {
+                starts[d + 1] += starts[d];
+            }
+            for (int i = 0; i < n; i++) {
+                int v = a.read(i);
+                buffer[starts[digit(v, shift)]++] = v;
+            }
+            for (int i = 0; i < n; i++) {
+                a.write(i, buffer[i]);
+            }
+            a.phase(0, n - 1);
+        }
+    }
+
+    /** Byte of the key at {@code shift}; flipping the sign bit puts negative values first. */
+    static int digit(int value, int shift) {
+        return ((value ^ Integer.MIN_VALUE) >>> shift) & (RADIX - 1);
+    }
+
+    /** True if one digit holds all {@code n} keys, given counts shifted up by one slot. */
+    static boolean singleDigit(int[] counts, int n) {
+        for (int count : counts) {
+            if (count == n) return true;
+        }
+        return false;
+    }
+}
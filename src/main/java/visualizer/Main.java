@@ -0,0 +1,1127 @@
+package visualizer;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.stage.Screen;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Main extends Application {
+    private static final int DEFAULT_SIZE = 60;
+    static final int NODE_RENDER_LIMIT = 2000;   // larger arrays always use the canvas
+    private static final int PARALLEL_CUTOFF = 8192;     // ranges below this are sorted without forking
+    private static final int ANIMATION_CUTOFF = 16;      // fork almost everything so every lane stays busy
+    private static final int OFF_HEAP_SIZE = 50_000_000;  // larger inputs live off-heap and are drawn from samples
+    private static final int SAMPLED_LENGTH = 1 << 14;
+    private static final int SEARCH_QUERIES = 1_000_000;  // lookups timed after each animated search
+    private static final long SEARCH_BUDGET_NANOS = 1_000_000_000L;
+    // Sorts are traced before they are shown: in memory up to a quarter of the heap, then to a temporary file
+    private static final long MEMORY_TRACE_EVENTS = Runtime.getRuntime().maxMemory() / 4 / Long.BYTES;
+    private static final long MAX_TRACE_EVENTS = 1L << 29;   // 4 GB of events on disk
+    static final int BAR_WIDTH = 16;
+    static final int BAR_GAP = 7;
+    static final int WINDOW_HEIGHT = 600;
+    static final int BAR_LEFT_PADDING = 80;      // wider padding!
+    static final int BAR_BOTTOM_PADDING = 50;    // wider bottom padding!
+
+    private int[] array = new int[0];
+    // The input when it is too large for the heap; array then holds evenly spaced samples of it
+    private OffHeapIntArray offHeapInput;
+    // Its samples, taken when it was adopted; a run's copy holds its lock for seconds
+    private int[] offHeapSamples;
+    private Pane barPane = new Pane();
+    private final BarRenderer retainedRenderer = new RetainedBarRenderer(barPane);
+    private final BarRenderer rebuildRenderer = new RebuildBarRenderer(barPane);
+    private final CanvasBarRenderer canvasRenderer = new CanvasBarRenderer(barPane);
+    private BarRenderer renderer = retainedRenderer;
+    private ScrollPane scrollPane;
+    private int highlight1 = -1, highlight2 = -1;
+    private volatile boolean isSorting = false;
+    // Bumped by every Sort and Stop; a run whose id is no longer current is stale
+    private final AtomicLong generation = new AtomicLong();
+    private final StepGate gate = new StepGate();
+    private final Pacer pacer = new Pacer();
+    private Slider speedSlider;
+    private Label speedValueLabel;
+    private Label algoLabel, infoLabel;
+    private Button sortBtn, stopBtn, pauseBtn, resumeBtn, nextStepBtn, nextPhaseBtn, prevStepBtn, exitBtn;
+    private Spinner<Integer> stepSizeSpinner;
+    private Slider timelineSlider;
+    private boolean updatingTimeline;
+    private boolean runHasPhases;   // only trace replays mark phase boundaries
+    private ComboBox<String> algorithmBox, rendererBox;
+    private ComboBox<Integer> sizeBox;
+    private ComboBox<Distribution> distributionBox;
+    private TextField seedField;
+    private long seed = 1;
+    private final Metrics metrics = new Metrics();
+    private final FrameSlot frameSlot = new FrameSlot(generation::get);
+    private final FramePump framePump = new FramePump(metrics);
+    private final RunManager runs = new RunManager();
+    private long runStartNanos;   // FX thread; 0 once the current run's first frame is shown
+    private Label metricsLabel;
+    private RaceWindow raceWindow;
+    private Frame shownFrame;
+    private CheckBox heatmapBox;
+    private volatile boolean heatmapOn;   // read by workers when a seek has to recount the heat
+    private long[] finishedHeat;          // access counts of the last finished run, drawn after its frames are gone
+
+    @Override
+    public void start(Stage stage) {
+        // Controls Setup
+        Button shuffleBtn = new Button("Shuffle");
+        sortBtn = new Button("Sort");
+        stopBtn = new Button("Stop");
+        pauseBtn = new Button("Pause");
+        resumeBtn = new Button("Resume");
+        nextStepBtn = new Button("Next Step");
+        nextPhaseBtn = new Button("Next Phase");
+        prevStepBtn = new Button("Previous Step");
+        Button raceBtn = new Button("Race");
+        Button saveTraceBtn = new Button("Save Trace");
+        Button openTraceBtn = new Button("Open Trace");
+        exitBtn = new Button("Exit");
+
+        String btnStyle = "-fx-font-size: 17px; -fx-background-radius: 9; -fx-padding: 7 25 7 25;";
+        shuffleBtn.setStyle(btnStyle + "-fx-background-color: #2962FF; -fx-text-fill: white;");
+        sortBtn.setStyle(btnStyle + "-fx-background-color: #43A047; -fx-text-fill: white;");
+        stopBtn.setStyle(btnStyle + "-fx-background-color: #D32F2F; -fx-text-fill: white;");
+        pauseBtn.setStyle(btnStyle + "-fx-background-color: #FFA000; -fx-text-fill: white;");
+        resumeBtn.setStyle(btnStyle + "-fx-background-color: #388E3C; -fx-text-fill: white;");
+        nextStepBtn.setStyle(btnStyle + "-fx-background-color: #455A64; -fx-text-fill: white;");
+        nextPhaseBtn.setStyle(btnStyle + "-fx-background-color: #455A64; -fx-text-fill: white;");
+        prevStepBtn.setStyle(btnStyle + "-fx-background-color: #455A64; -fx-text-fill: white;");
+        raceBtn.setStyle(btnStyle + "-fx-background-color: #7B1FA2; -fx-text-fill: white;");
+        saveTraceBtn.setStyle(btnStyle + "-fx-background-color: #00838F; -fx-text-fill: white;");
+        openTraceBtn.setStyle(btnStyle + "-fx-background-color: #00838F; -fx-text-fill: white;");
+        exitBtn.setStyle(btnStyle + "-fx-background-color: #616161; -fx-text-fill: white;");
+
+        sortBtn.setDisable(false);
+        stopBtn.setDisable(true);
+        pauseBtn.setDisable(true);
+        resumeBtn.setDisable(true);
+        nextStepBtn.setDisable(true);
+        nextPhaseBtn.setDisable(true);
+        prevStepBtn.setDisable(true);
+
+        // Operations advanced per Next Step click
+        stepSizeSpinner = new Spinner<>(1, 1_000_000, 1);
+        stepSizeSpinner.setEditable(true);
+        stepSizeSpinner.setPrefWidth(110);
+        stepSizeSpinner.setStyle("-fx-font-size: 15px;");
+
+        algorithmBox = new ComboBox<>();
+        for (Algorithm algorithm : Algorithms.all()) {
+            algorithmBox.getItems().add(algorithm.name());
+        }
+        algorithmBox.getItems().addAll(
+                ParallelSorts.QUICK, ParallelSorts.MERGE, ParallelSorts.BITONIC
+        );
+        for (SearchAlgorithm search : SearchAlgorithm.values()) {
+            algorithmBox.getItems().add(search.name);
+        }
+        algorithmBox.setValue("Bubble Sort");
+        algorithmBox.setStyle("-fx-font-size: 17px; -fx-background-radius: 9;");
+
+        rendererBox = new ComboBox<>();
+        rendererBox.getItems().addAll("Retained Nodes", "Rebuild Nodes", "Canvas");
+        rendererBox.setValue("Retained Nodes");
+        rendererBox.setStyle("-fx-font-size: 17px; -fx-background-radius: 9;");
+
+        sizeBox = new ComboBox<>();
+        sizeBox.getItems().addAll(DEFAULT_SIZE, 250, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000, 500_000_000);
+        sizeBox.setValue(DEFAULT_SIZE);
+        sizeBox.setStyle("-fx-font-size: 17px; -fx-background-radius: 9;");
+
+        // Input shape and seed; the same pair always gives the same array
+        distributionBox = new ComboBox<>();
+        distributionBox.getItems().addAll(Distribution.values());
+        distributionBox.setValue(Distribution.RANDOM);
+        distributionBox.setStyle("-fx-font-size: 17px; -fx-background-radius: 9;");
+        seedField = new TextField(String.valueOf(seed));
+        seedField.setPrefWidth(110);
+        seedField.setStyle("-fx-font-size: 15px;");
+
+        // Speed Slider: log10 of operations per second, higher = faster!
+        speedSlider = new Slider(Math.log10(Pacer.MIN_RATE), Math.log10(Pacer.MAX_RATE), 1);
+        speedSlider.setShowTickLabels(true);
+        speedSlider.setShowTickMarks(true);
+        speedSlider.setMajorTickUnit(1);
+        speedSlider.setMinorTickCount(0);
+        speedSlider.setBlockIncrement(0.1);
+        speedSlider.setLabelFormatter(new StringConverter<Double>() {
+            @Override
+            public String toString(Double value) {
+                return Pacer.format(Math.pow(10, value));
+            }
+
+            @Override
+            public Double fromString(String string) {
+                return null;
+            }
+        });
+        speedSlider.setStyle("-fx-font-size: 14px;");
+        heatmapBox = new CheckBox("Heatmap");
+        heatmapBox.setStyle("-fx-font-size: 17px; -fx-text-fill: #FFFFFF;");
+        Label speedLbl = new Label("Speed:");
+        speedLbl.setStyle("-fx-font-size: 17px; -fx-text-fill: #FFFFFF;");
+        speedValueLabel = new Label();
+        speedValueLabel.setStyle("-fx-font-size: 15px; -fx-text-fill: #FFFFFF;");
+        speedValueLabel.setMinWidth(90);
+        // The worker only ever sees the rate through the pacer's volatile field
+        speedSlider.valueProperty().addListener((obs, oldVal, newVal) -> updateRate(newVal.doubleValue()));
+        updateRate(speedSlider.getValue());
+
+        algoLabel = new Label(algorithmTitle("Bubble Sort"));
+        algoLabel.setStyle("-fx-font-size: 20px; -fx-text-fill: #E0E0E0; -fx-font-weight: bold;");
+        infoLabel = new Label("Comparisons: 0 | Swaps: 0 | Writes: 0");
+        infoLabel.setStyle("-fx-font-size: 18px; -fx-text-fill: #FFFFFF;");
+        HBox infoBar = new HBox(80, algoLabel, infoLabel);
+        infoBar.setAlignment(Pos.CENTER);
+        infoBar.setPadding(new Insets(15, 0, 15, 0));
+
+        // Timeline scrubber for trace replays
+        timelineSlider = new Slider(0, 1, 0);
+        timelineSlider.setDisable(true);
+        timelineSlider.setPadding(new Insets(0, 80, 10, 80));
+        timelineSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (!updatingTimeline && isSorting) gate.seek(newVal.longValue());
+        });
+
+        // Button Actions
+        shuffleBtn.setOnAction(e -> {
+            if (isSorting) return;
+            seed = new Random().nextInt(1_000_000);
+            seedField.setText(String.valueOf(seed));
+            loadDataset();
+            drawBars(barPane.getWidth());
+        });
+        seedField.setOnAction(e -> {
+            if (isSorting) return;
+            try {
+                seed = Long.parseLong(seedField.getText().trim());
+            } catch (NumberFormatException ex) {
+                seedField.setText(String.valueOf(seed));
+                return;
+            }
+            loadDataset();
+            drawBars(barPane.getWidth());
+        });
+        distributionBox.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (isSorting) return;
+            loadDataset();
+            drawBars(barPane.getWidth());
+        });
+        sortBtn.setOnAction(e -> {
+            if (isSorting) return;
+            startRun(algorithmBox.getValue(), null, null);
+        });
+        saveTraceBtn.setOnAction(e -> {
+            if (isSorting) return;
+            String algo = algorithmBox.getValue();
+            if (Algorithms.find(algo) == null) {
+                infoLabel.setText("Only sorting algorithms are recorded to trace files.");
+                return;
+            }
+            File target = traceChooser().showSaveDialog(stage);
+            if (target != null) startRun(algo, target.toPath(), null);
+        });
+        openTraceBtn.setOnAction(e -> {
+            if (isSorting) return;
+            File source = traceChooser().showOpenDialog(stage);
+            if (source == null) return;
+            TraceFile file;
+            try {
+                file = TraceFile.open(source.toPath());
+            } catch (IOException ex) {
+                infoLabel.setText("Cannot open " + source.getName() + ": " + ex.getMessage());
+                return;
+            }
+            releaseOffHeapInput();
+            finishedHeat = null;
+            array = file.initial();
+            updateRenderer();
+            drawBars(barPane.getWidth());
+            startRun("Trace " + source.getName(), null, file);
+        });
+        stopBtn.setOnAction(e -> {
+            generation.incrementAndGet();
+            gate.stop();
+            pacer.cancel();
+            runs.cancel();
+            isSorting = false;
+            frameSlot.clear();
+            shownFrame = null;
+            finishedHeat = null;
+            if (offHeapInput != null) {
+                // Runs sort a copy, so the input of the stopped run is still there; regenerating it would take seconds
+                array = offHeapSamples.clone();
+                highlight1 = highlight2 = -1;
+            } else {
+                // Back to the unsorted input of the current seed
+                loadDataset();
+            }
+            drawBars(barPane.getWidth());
+            setUIOnSortEnd();
+        });
+        pauseBtn.setOnAction(e -> {
+            gate.pause();
+            pauseBtn.setDisable(true);
+            resumeBtn.setDisable(false);
+            nextStepBtn.setDisable(false);
+            nextPhaseBtn.setDisable(!runHasPhases);
+            prevStepBtn.setDisable(lastShownPosition() <= 0);
+        });
+        resumeBtn.setOnAction(e -> {
+            gate.resume();
+            resumeBtn.setDisable(true);
+            pauseBtn.setDisable(false);
+            nextStepBtn.setDisable(true);
+            nextPhaseBtn.setDisable(true);
+            prevStepBtn.setDisable(true);
+        });
+        nextStepBtn.setOnAction(e -> gate.step(stepSizeSpinner.getValue()));
+        nextPhaseBtn.setOnAction(e -> gate.stepPhase());
+        prevStepBtn.setOnAction(e -> {
+            long position = lastShownPosition();
+            if (position > 0) gate.seek(position - 1);
+        });
+        algorithmBox.valueProperty().addListener((obs, oldVal, newVal) -> {
+            algoLabel.setText(algorithmTitle(newVal));
+        });
+        rendererBox.valueProperty().addListener((obs, oldVal, newVal) -> {
+            updateRenderer();
+            drawBars(barPane.getWidth());
+        });
+        heatmapBox.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            heatmapOn = newVal;
+            updateRenderer();
+            drawBars(barPane.getWidth());
+        });
+        sizeBox.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (isSorting) return;
+            loadDataset();
+            drawBars(barPane.getWidth());
+        });
+        raceBtn.setOnAction(e -> {
+            if (raceWindow == null) raceWindow = new RaceWindow(framePump, metrics);
+            raceWindow.show();
+        });
+        exitBtn.setOnAction(e -> Platform.exit());
+
+        HBox controls = new HBox(25, shuffleBtn, sortBtn, stopBtn, pauseBtn, resumeBtn, prevStepBtn, nextStepBtn, stepSizeSpinner, nextPhaseBtn, algorithmBox, sizeBox, distributionBox, seedField, rendererBox, heatmapBox, speedLbl, speedSlider, speedValueLabel, saveTraceBtn, openTraceBtn, raceBtn, exitBtn);
+        controls.setAlignment(Pos.CENTER_LEFT);
+        controls.setPadding(new Insets(23));
+        controls.setSpacing(25);
+        controls.setStyle("-fx-background-color: #232348;");
+        controls.setPrefHeight(90);
+
+        // Main Layout with BorderPane
+        BorderPane root = new BorderPane();
+        root.setTop(controls);
+
+        VBox infoArea = new VBox(infoBar, timelineSlider);
+        infoArea.setAlignment(Pos.CENTER);
+        infoArea.setStyle("-fx-background-color: #181828;");
+        root.setCenter(infoArea);
+
+        // Visualizer Area (bars)
+        barPane.setStyle("-fx-background-color: #181828;");
+        barPane.setPrefHeight(WINDOW_HEIGHT);
+
+        scrollPane = new ScrollPane(barPane);
+        scrollPane.setFitToHeight(true);
+        scrollPane.setStyle("-fx-background: #181828; -fx-border-color: #232348;");
+        scrollPane.setPadding(new Insets(10));
+
+        // Metrics overlay, refreshed from the sampler's latest reading
+        metricsLabel = new Label();
+        metricsLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: #E0E0E0; -fx-background-color: rgba(35, 35, 72, 0.8); -fx-padding: 4 10 4 10;");
+        metricsLabel.setMouseTransparent(true);
+        StackPane barArea = new StackPane(scrollPane, metricsLabel);
+        StackPane.setAlignment(metricsLabel, Pos.TOP_RIGHT);
+        StackPane.setMargin(metricsLabel, new Insets(16, 24, 0, 0));
+        root.setBottom(barArea);
+        Timeline metricsRefresh = new Timeline(new KeyFrame(Duration.millis(Metrics.SAMPLE_MILLIS),
+                e -> metricsLabel.setText(metrics.latest().format())));
+        metricsRefresh.setCycleCount(Animation.INDEFINITE);
+
+        // Responsive: redraw bars on pane resize
+        barPane.widthProperty().addListener((obs, oldVal, newVal) -> drawBars(newVal.doubleValue()));
+
+        loadDataset();
+        // Draw once with a default width; will auto-adjust on resize/fullscreen
+        drawBars(Screen.getPrimary().getBounds().getWidth());
+
+        // Make window maximized (full screen usable, but with window controls)
+        Scene scene = new Scene(root, 1280, 900); // starting size
+        stage.setScene(scene);
+        stage.setTitle("Algorithm Visualizer");
+        stage.setMaximized(true);
+        stage.show();
+        framePump.add(frameSlot, this::showFrame);
+        framePump.start();
+        metrics.start();
+        metricsRefresh.play();
+    }
+
+    /** Exit or closing the window: interrupt the run and race and let their threads end. */
+    @Override
+    public void stop() {
+        generation.incrementAndGet();
+        gate.stop();
+        pacer.cancel();
+        runs.close();
+        if (raceWindow != null) raceWindow.close();
+        framePump.stop();
+        metrics.stop();
+    }
+
+    // --- Helper UI Methods ---
+    private static String algorithmTitle(String name) {
+        Algorithm algorithm = Algorithms.find(name);
+        return "Algorithm: " + name + (algorithm != null ? " [" + Algorithms.describe(algorithm) + "]" : "");
+    }
+
+    private static FileChooser traceChooser() {
+        FileChooser chooser = new FileChooser();
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Trace files", "*" + TraceFile.EXTENSION));
+        return chooser;
+    }
+
+    /** Starts a worker on a copy of the array; the displayed array is only replaced when the run finishes. */
+    private void startRun(String algo, Path recordTo, TraceFile playback) {
+        if (offHeapInput != null && (recordTo != null || Algorithms.find(algo) == null)) {
+            infoLabel.setText("Off-heap arrays are sorted directly; traces, searches and parallel sorts need " + OFF_HEAP_SIZE / 1_000_000 + "M elements or fewer.");
+            return;
+        }
+        Algorithm sort = Algorithms.find(algo);
+        if (offHeapInput != null && !sort.isInPlace()) {
+            // Their buffers are int[]s as large as the input, which is what keeps these sizes off the heap
+            infoLabel.setText(algo + " needs a buffer as large as the input on the heap; off-heap arrays take in-place sorts only.");
+            return;
+        }
+        boolean spill = false;
+        if (sort != null && offHeapInput == null) {
+            // Check the size before tracing rather than running out of heap or disk halfway
+            long estimate = Algorithms.estimatedEvents(sort, array.length);
+            if (estimate > MAX_TRACE_EVENTS) {
+                infoLabel.setText(String.format("%s would record about %,d events on %,d elements; pick %,d elements or fewer.",
+                        algo, estimate, array.length, Algorithms.maxSizeFor(sort, MAX_TRACE_EVENTS)));
+                return;
+            }
+            spill = recordTo == null && estimate > MEMORY_TRACE_EVENTS;
+        }
+        long id = generation.incrementAndGet();
+        gate.reset();
+        isSorting = true;
+        // Parallel sorts, searches and off-heap runs would step to the end
+        runHasPhases = offHeapInput == null && !ParallelSorts.isParallel(algo) && SearchAlgorithm.find(algo) == null;
+        shownFrame = null;
+        finishedHeat = null;
+        setUIOnSortStart();
+        frameSlot.resetDropped();
+        runStartNanos = System.nanoTime();
+        SortRun run = new SortRun(id, algo, array.clone(), recordTo, spill, playback, offHeapInput);
+        runs.submit(run).whenComplete((ignored, error) -> metrics.runLater(() -> finishRun(id, run, error)));
+    }
+
+    private void setUIOnSortStart() {
+        sortBtn.setDisable(true);
+        stopBtn.setDisable(false);
+        pauseBtn.setDisable(false);
+        resumeBtn.setDisable(true);
+        nextStepBtn.setDisable(true);
+        nextPhaseBtn.setDisable(true);
+        prevStepBtn.setDisable(true);
+        algorithmBox.setDisable(true);
+        sizeBox.setDisable(true);
+        distributionBox.setDisable(true);
+        seedField.setDisable(true);
+    }
+    private void setUIOnSortEnd() {
+        sortBtn.setDisable(false);
+        stopBtn.setDisable(true);
+        pauseBtn.setDisable(true);
+        resumeBtn.setDisable(true);
+        nextStepBtn.setDisable(true);
+        nextPhaseBtn.setDisable(true);
+        prevStepBtn.setDisable(true);
+        timelineSlider.setDisable(true);
+        algorithmBox.setDisable(false);
+        sizeBox.setDisable(false);
+        distributionBox.setDisable(false);
+        seedField.setDisable(false);
+    }
+
+    // --- Drawing and data management ---
+    private void updateRenderer() {
+        BarRenderer next;
+        // Only the canvas draws the heatmap
+        if (array.length > NODE_RENDER_LIMIT || "Canvas".equals(rendererBox.getValue()) || heatmapBox.isSelected()) {
+            next = canvasRenderer;
+        } else if ("Rebuild Nodes".equals(rendererBox.getValue())) {
+            next = rebuildRenderer;
+        } else {
+            next = retainedRenderer;
+        }
+        if (next != renderer) {
+            renderer.reset();
+            renderer = next;
+        }
+        // The canvas tracks the viewport; node bars keep their fixed spacing and scroll
+        scrollPane.setFitToWidth(renderer == canvasRenderer);
+    }
+
+    private void drawBars(double paneWidth) {
+        if (shownFrame != null) {
+            canvasRenderer.setHeat(heatmapOn ? shownFrame.heat : null);
+            renderer.render(shownFrame.values, shownFrame.highlight1, shownFrame.highlight2, shownFrame.lanes, paneWidth);
+        } else {
+            canvasRenderer.setHeat(heatmapOn ? finishedHeat : null);
+            renderer.render(array, highlight1, highlight2, null, paneWidth);
+        }
+    }
+
+    /** Renders a frame taken from the pump; runs on the FX thread once per pulse at most. */
+    private void showFrame(Frame frame) {
+        if (!isSorting) return;
+        if (runStartNanos != 0) {
+            metrics.recordStartLatency(System.nanoTime() - runStartNanos);
+            runStartNanos = 0;
+        }
+        shownFrame = frame;
+        canvasRenderer.setHeat(heatmapOn ? frame.heat : null);
+        renderer.update(frame.values, frame.highlight1, frame.highlight2, frame.lanes, frame.dirty, barPane.getWidth());
+        if (frame.status != null) {
+            infoLabel.setText(frame.status);
+        } else if (frame.position >= 0) {
+            infoLabel.setText(String.format("Step: %d / %d | Comparisons: %d | Swaps: %d | Writes: %d | Dropped frames: %d%s",
+                    frame.position, frame.total, frame.comparisons, frame.swaps, frame.writes, frameSlot.getDropped(), offHeapText()));
+        } else {
+            infoLabel.setText(String.format("Comparisons: %d | Swaps: %d | Writes: %d | Dropped frames: %d%s",
+                    frame.comparisons, frame.swaps, frame.writes, frameSlot.getDropped(), offHeapText()));
+        }
+
+        updatingTimeline = true;
+        timelineSlider.setDisable(frame.position < 0);
+        if (frame.position >= 0) {
+            timelineSlider.setMax(Math.max(1, frame.total));
+            if (!timelineSlider.isValueChanging()) timelineSlider.setValue(frame.position);
+        }
+        updatingTimeline = false;
+        if (gate.isPaused()) prevStepBtn.setDisable(frame.position <= 0);
+    }
+
+    private long lastShownPosition() {
+        return shownFrame != null ? shownFrame.position : -1;
+    }
+
+    /**
+     * Copies the input for the chosen size, distribution and seed out of the
+     * dataset cache, or starts generating it off-heap when it is too large
+     * for the heap. Either way an off-heap input still being generated for
+     * an earlier choice is superseded.
+     */
+    private void loadDataset() {
+        int size = sizeBox.getValue();
+        long id = generation.incrementAndGet();
+        finishedHeat = null;
+        releaseOffHeapInput();
+        if (size > OFF_HEAP_SIZE) {
+            generateOffHeap(size, id);
+            return;
+        }
+        array = DatasetCache.SHARED.get(distributionBox.getValue(), size, seed).clone();
+        sortBtn.setDisable(false);
+        highlight1 = highlight2 = -1;
+        updateRenderer();
+    }
+
+    /**
+     * Generates an off-heap input on the run manager, as filling hundreds of
+     * millions of elements takes seconds; Sort stays disabled until it is
+     * there. An input superseded meanwhile by another dataset or run is freed
+     * unused.
+     */
+    private void generateOffHeap(int size, long id) {
+        Distribution distribution = distributionBox.getValue();
+        long inputSeed = seed;
+        sortBtn.setDisable(true);
+        infoLabel.setText(String.format("Generating %,d elements off-heap...", size));
+        runs.submit(() -> {
+            OffHeapIntArray input = new OffHeapIntArray(size);
+            try {
+                distribution.generate(input, inputSeed);
+                int[] samples = input.sample(new int[SAMPLED_LENGTH]);
+                metrics.runLater(() -> adoptOffHeapInput(id, input, samples));
+            } catch (Throwable t) {
+                input.close();
+                throw t;
+            }
+            return null;
+        }).whenComplete((ignored, error) -> {
+            if (error != null) metrics.runLater(() -> {
+                if (generation.get() == id) infoLabel.setText("Cannot generate the input: " + describe(error));
+            });
+        });
+    }
+
+    private void adoptOffHeapInput(long id, OffHeapIntArray input, int[] samples) {
+        if (generation.get() != id) {
+            input.close();
+            return;
+        }
+        offHeapInput = input;
+        offHeapSamples = samples.clone();
+        array = samples;
+        highlight1 = highlight2 = -1;
+        updateRenderer();
+        drawBars(barPane.getWidth());
+        sortBtn.setDisable(false);
+        infoLabel.setText(String.format("%,d elements, drawn from %,d samples%s", input.length(), SAMPLED_LENGTH, offHeapText()));
+    }
+
+    /** Frees the off-heap input off the FX thread, as a stopped run may still be copying it. */
+    private void releaseOffHeapInput() {
+        if (offHeapInput != null) {
+            runs.execute(offHeapInput::close);
+            offHeapInput = null;
+            offHeapSamples = null;
+        }
+    }
+
+    private static String offHeapText() {
+        long bytes = OffHeapIntArray.allocatedBytes();
+        return bytes > 0 ? String.format(" | Off-heap: %,d MB", bytes >> 20) : "";
+    }
+
+    private void updateRate(double sliderValue) {
+        pacer.setRate(Math.pow(10, sliderValue));
+        speedValueLabel.setText(Pacer.format(pacer.getRate()) + " ops/s");
+    }
+
+    /**
+     * Takes over the result of a finished run, unless it was stopped or
+     * superseded meanwhile. A failed run leaves the input as it was and says
+     * why in the info bar. An off-heap run's array becomes the new input or
+     * is freed here, once its worker is done with it.
+     */
+    private void finishRun(long id, SortRun run, Throwable error) {
+        boolean current = generation.get() == id;
+        if (run.offHeap != null) {
+            if (current && error == null) {
+                releaseOffHeapInput();
+                offHeapInput = run.offHeap;
+                // Its worker is done with it, so nothing holds the lock
+                offHeapSamples = offHeapInput.sample(new int[SAMPLED_LENGTH]);
+            } else {
+                run.offHeap.close();
+            }
+        }
+        if (!current) return;
+        if (error == null) {
+            framePump.flush(frameSlot);
+            if (shownFrame != null) {
+                array = shownFrame.values.clone();
+                finishedHeat = shownFrame.heat != null ? shownFrame.heat.clone() : null;
+            }
+        } else {
+            frameSlot.clear();
+        }
+        shownFrame = null;
+        runStartNanos = 0;
+        highlight1 = highlight2 = -1;
+        isSorting = false;
+        drawBars(barPane.getWidth());
+        setUIOnSortEnd();
+        if (error != null) infoLabel.setText("Run failed: " + describe(error));
+    }
+
+    private static String describe(Throwable error) {
+        if (error instanceof CancellationException || error instanceof InterruptedException
+                || error instanceof ClosedByInterruptException) {
+            return "interrupted";
+        }
+        return error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+    }
+
+    /**
+     * One Sort click. Everything the worker mutates lives here, on a private
+     * copy of the array; the FX thread only ever sees it through frames
+     * published to the pump, and a run that is no longer the current
+     * generation stops and publishes nothing. Failures end the call and are
+     * reported by the run's future.
+     */
+    private final class SortRun implements Callable<Void>, FrameSlot.Writer {
+        private final long id;
+        private final String algo;
+        private final int[] values;
+        // Record the trace to this file first, or replay this file instead of running the algorithm
+        private final Path recordTo;
+        private final TraceFile playback;
+        // Record the trace to a temporary file, as it would not fit the heap
+        private final boolean spill;
+        // The input, when it lives off-heap; the worker copies it and sorts the copy directly instead of the sampled values
+        private final OffHeapIntArray offHeapSource;
+        // Set by the worker before it publishes anything; read by finishRun once the worker is done
+        OffHeapIntArray offHeap;
+        private int highlight1 = -1, highlight2 = -1;
+        private LaneArray lanes;
+        private AccessHeat heat;
+        private OffHeapSortArray offHeapSorting;
+        private long offHeapReads, lastOffHeapPublish;
+        // Last counters and status; they go out with the next published frame
+        private long comparisons, swaps, writes;
+        private long position = -1, total;
+        private String status;
+        // Indices changed since the last published frame; everything until the first one
+        private final DirtyIndices changed = new DirtyIndices();
+
+        SortRun(long id, String algo, int[] values, Path recordTo, boolean spill, TraceFile playback, OffHeapIntArray offHeapSource) {
+            this.id = id;
+            this.algo = algo;
+            this.values = values;
+            this.recordTo = recordTo;
+            this.spill = spill;
+            this.playback = playback;
+            this.offHeapSource = offHeapSource;
+        }
+
+        private boolean cancelled() {
+            return generation.get() != id;
+        }
+
+        private void count(long comparisons, long swaps, long writes) {
+            this.comparisons = comparisons;
+            this.swaps = swaps;
+            this.writes = writes;
+            status = null;
+        }
+
+        private void publishStatus(String status) {
+            this.status = status;
+            publish();
+        }
+
+        private void publish() {
+            frameSlot.publish(id, this);
+        }
+
+        @Override
+        public void write(Frame frame) {
+            if (offHeap != null) {
+                offHeap.sample(frame.values(values.length));
+                frame.lanes = null;
+                frame.heat = null;
+                frame.comparisons = comparisons;
+                frame.swaps = swaps;
+                frame.writes = writes;
+            } else if (lanes != null) {
+                lanes.copyValues(frame.values(values.length));
+                lanes.copyLanes(frame.lanes(lanes.laneEntries()));
+                frame.comparisons = lanes.comparisons.sum();
+                frame.swaps = lanes.swaps.sum();
+                frame.writes = lanes.writes.sum();
+                frame.heat = null;
+                // The dirty set stays "everything": all lanes move at once
+            } else {
+                frame.copyValues(values);
+                frame.dirty.set(changed);
+                changed.clear();
+                frame.lanes = null;
+                if (heat != null) {
+                    frame.copyHeat(heat.counts);
+                } else {
+                    frame.heat = null;
+                }
+                frame.comparisons = comparisons;
+                frame.swaps = swaps;
+                frame.writes = writes;
+            }
+            frame.highlight1 = highlight1;
+            frame.highlight2 = highlight2;
+            frame.position = position;
+            frame.total = total;
+            frame.status = status;
+        }
+
+        /**
+         * Accounts for one visible operation. Steps taken while paused are
+         * shown when the gate parks after the last of them; otherwise a frame
+         * is published and the worker sleeps only at the end of each paced batch.
+         */
+        private void pace(boolean stepping) throws InterruptedException {
+            if (!stepping && pacer.countOp()) {
+                publish();
+                pacer.awaitDeadline();
+            }
+        }
+
+        // --- Main sorting and searching algorithms ---
+        @Override
+        public Void call() throws Exception {
+            int n = values.length;
+            pacer.start();
+            if (offHeapSource != null) {
+                runOffHeap();
+                return null;
+            }
+            heat = new AccessHeat(n);
+            switch (algo) {
+                case ParallelSorts.QUICK:
+                case ParallelSorts.MERGE:
+                case ParallelSorts.BITONIC: {
+                    runParallel();
+                } break;
+                default: {
+                    SearchAlgorithm search = SearchAlgorithm.find(algo);
+                    if (search != null) {
+                        runSearch(search);
+                        break;
+                    }
+                    if (playback != null) {
+                        try (TraceFile file = playback) {
+                            replay(new TraceTimeline(file));
+                        }
+                        break;
+                    }
+                    Algorithm sort = Algorithms.find(algo);
+                    if (sort == null) throw new IllegalStateException("Unknown algorithm: " + algo);
+                    long start = System.nanoTime();
+                    Trace trace = null;
+                    if (recordTo == null && !spill) {
+                        try {
+                            trace = Trace.record(sort, values.clone(), MEMORY_TRACE_EVENTS);
+                        } catch (Trace.TooLongException tooLong) {
+                            // Far past the estimate, e.g. Quick Sort on sorted input; record it again to disk
+                        }
+                    }
+                    if (trace == null) {
+                        recordAndReplay(sort, start);
+                        break;
+                    }
+                    long events = trace.size();
+                    long traceMillis = (System.nanoTime() - start) / 1_000_000;
+                    metrics.runLater(() -> algoLabel.setText(String.format("Algorithm: %s (%,d events, traced in %d ms)",
+                            algo, events, traceMillis)));
+                    replay(new TraceTimeline(trace));
+                } break;
+            }
+            if (cancelled()) return null;
+            lanes = null;
+            highlight1 = highlight2 = -1;
+            publish();
+            return null;
+        }
+
+        /** Streams the trace to {@code recordTo}, or to a temporary file, and replays it from the mapping. */
+        private void recordAndReplay(Algorithm sort, long start) throws IOException, InterruptedException {
+            Path path = recordTo != null ? recordTo : Files.createTempFile("sort-run-", TraceFile.EXTENSION);
+            try {
+                long events = TraceFile.record(sort, values.clone(), path, MAX_TRACE_EVENTS);
+                long traceMillis = (System.nanoTime() - start) / 1_000_000;
+                String where = recordTo != null ? "recorded to " + recordTo.getFileName() : "spilled to disk";
+                metrics.runLater(() -> algoLabel.setText(String.format("Algorithm: %s (%,d events, %s in %d ms)",
+                        algo, events, where, traceMillis)));
+                try (TraceFile file = TraceFile.open(path)) {
+                    replay(new TraceTimeline(file));
+                }
+            } finally {
+                if (recordTo == null) Files.deleteIfExists(path);
+            }
+        }
+
+        // --- Off-heap sorts ---
+        /**
+         * Sorts the off-heap copy at full speed; a frame of samples goes out
+         * at most once per pulse, and Pause and Step act on blocks of
+         * {@link OffHeapSortArray#TICK} operations.
+         */
+        private void runOffHeap() {
+            // Copied here rather than on the FX thread; gigabytes take a while
+            offHeap = offHeapSource.copy();
+            long start = System.nanoTime();
+            lastOffHeapPublish = start;
+            offHeapSorting = new OffHeapSortArray(offHeap, this::offHeapTick);
+            Algorithms.find(algo).sort(offHeapSorting);
+            long sortMillis = (System.nanoTime() - start) / 1_000_000;
+            countOffHeap();
+            highlight1 = highlight2 = -1;
+            publish();
+            metrics.runLater(() -> algoLabel.setText(String.format("Algorithm: %s (%,d elements off-heap, sorted in %,d ms)",
+                    algo, offHeap.length(), sortMillis)));
+        }
+
+        private void offHeapTick() {
+            try {
+                gate.awaitOp(this::publishOffHeap);
+                if (cancelled() || Thread.currentThread().isInterrupted()) throw new CancellationException();
+                if (System.nanoTime() - lastOffHeapPublish >= Pacer.FRAME_NANOS) publishOffHeap();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException();
+            }
+        }
+
+        private void publishOffHeap() {
+            lastOffHeapPublish = System.nanoTime();
+            countOffHeap();
+            highlight1 = offHeapSorting.last1 < 0 ? -1 : offHeap.sampleOf(offHeapSorting.last1, values.length);
+            highlight2 = offHeapSorting.last2 < 0 ? -1 : offHeap.sampleOf(offHeapSorting.last2, values.length);
+            publish();
+        }
+
+        /** Moves the off-heap counters into the frame fields and the metrics. */
+        private void countOffHeap() {
+            OffHeapSortArray a = offHeapSorting;
+            metrics.comparisons.add(a.comparisons - comparisons);
+            metrics.swaps.add(a.swaps - swaps);
+            metrics.writes.add(a.writes - writes);
+            metrics.reads.add(a.reads - offHeapReads);
+            offHeapReads = a.reads;
+            count(a.comparisons, a.swaps, a.writes);
+        }
+
+        // --- Searches ---
+        private void runSearch(SearchAlgorithm search) throws InterruptedException {
+            int n = values.length;
+            // Searched through a sorted index, so the bars keep their order
+            long start = System.nanoTime();
+            SortedIndex index = new SortedIndex(values);
+            long indexMillis = (System.nanoTime() - start) / 1_000_000;
+            int target = values[new Random().nextInt(n)];
+            publishStatus("Searching for: " + target + " (index built in " + indexMillis + " ms)");
+            long[] probes = new long[1];
+            int found;
+            try {
+                found = search.find(index, target, probe -> {
+                    boolean stepping = awaitProbe();
+                    int i = search.position(index, probe);
+                    highlight1 = i;
+                    highlight2 = -1;
+                    count(++probes[0], 0, 0);
+                    heat.touch(i, 1);
+                    metrics.comparisons.increment();
+                    metrics.reads.increment();
+                    pacedProbe(stepping);
+                });
+            } catch (CancellationException stopped) {
+                return;
+            }
+            if (found >= 0) {
+                highlight1 = found;
+                publishStatus("Found " + target + " at index " + found + " after " + probes[0] + " probes");
+            } else {
+                publishStatus("Target " + target + " not found.");
+            }
+
+            // Then the same index under load, on one thread and on all of them
+            int threads = Runtime.getRuntime().availableProcessors();
+            int[] queries = QueryBatch.queries(index, SEARCH_QUERIES, new Random().nextLong());
+            QueryBatch.run(search, index, null, queries, 1, SEARCH_BUDGET_NANOS / 10);
+            QueryBatch.Result single = QueryBatch.run(search, index, null, queries, 1, SEARCH_BUDGET_NANOS);
+            QueryBatch.Result parallel = QueryBatch.run(search, index, null, queries, threads, SEARCH_BUDGET_NANOS);
+            metrics.runLater(() -> algoLabel.setText(String.format(
+                    "Algorithm: %s (%.1fM queries/s, %.1fM/s on %d threads, %.1f probes/query)",
+                    algo, single.queriesPerSecond() / 1e6, parallel.queriesPerSecond() / 1e6, threads,
+                    single.probesPerQuery())));
+        }
+
+        private boolean awaitProbe() {
+            try {
+                boolean stepping = gate.awaitOp(this::publish);
+                if (cancelled()) throw new CancellationException();
+                return stepping;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException();
+            }
+        }
+
+        private void pacedProbe(boolean stepping) {
+            try {
+                pace(stepping);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException();
+            }
+        }
+
+        // --- Parallel sorts ---
+        private void runParallel() throws InterruptedException {
+            heat = null;
+            int threads = Runtime.getRuntime().availableProcessors();
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                // Time both versions at full speed on copies of the same input; they poll for Stop themselves
+                int[] sequentialInput = values.clone(), parallelInput = values.clone();
+                long start = System.nanoTime();
+                long sequentialNanos, parallelNanos;
+                try {
+                    ParallelSorts.sort(algo, new LaneArray(sequentialInput, 1, null, null, this::cancelled),
+                            pool, ParallelSorts.SEQUENTIAL);
+                    sequentialNanos = System.nanoTime() - start;
+                    start = System.nanoTime();
+                    ParallelSorts.sort(algo, new LaneArray(parallelInput, threads, null, null, this::cancelled),
+                            pool, PARALLEL_CUTOFF);
+                    parallelNanos = Math.max(1, System.nanoTime() - start);
+                } catch (CancellationException stopped) {
+                    return;
+                }
+                metrics.runLater(() -> algoLabel.setText(String.format("Algorithm: %s (speed-up %.2fx on %d threads: %.1f ms vs %.1f ms)",
+                        algo, (double) sequentialNanos / parallelNanos, threads, parallelNanos / 1e6, sequentialNanos / 1e6)));
+
+                // Animated run on the run's array; every worker is paced on its own clock
+                ThreadLocal<Pacer> workerPacers = ThreadLocal.withInitial(pacer::forWorker);
+                lanes = new LaneArray(values, threads, a -> pacedLaneOp(workerPacers.get()), metrics);
+                try {
+                    ParallelSorts.sort(algo, lanes, pool, ANIMATION_CUTOFF);
+                } catch (CancellationException stopped) {
+                    // Stop was pressed while the workers were running
+                }
+                count(lanes.comparisons.sum(), lanes.swaps.sum(), lanes.writes.sum());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        private void pacedLaneOp(Pacer workerPacer) {
+            try {
+                boolean stepping = gate.awaitOp(this::publish);
+                if (cancelled()) throw new CancellationException();
+                if (!stepping && workerPacer.countOp()) {
+                    publish();
+                    workerPacer.awaitDeadline();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException();
+            }
+        }
+
+        // --- Trace replay ---
+        private void replay(TraceTimeline timeline) throws InterruptedException {
+            long[] counts = new long[Trace.OP_COUNT];
+            long next = 0;
+            total = timeline.size();
+            while (!cancelled()) {
+                // Phase markers and reads are bookkeeping, not visible steps
+                if (next < timeline.size() && Trace.op(timeline.event(next)) == Trace.PHASE) {
+                    counts[Trace.PHASE]++;
+                    next++;
+                    gate.phaseBoundary();
+                    continue;
+                }
+                if (next < timeline.size() && Trace.op(timeline.event(next)) == Trace.READ) {
+                    long event = timeline.event(next++);
+                    counts[Trace.READ]++;
+                    record(event);
+                    if (heat != null) heat.record(event);
+                    continue;
+                }
+                // Parks while paused until Resume, Step, Seek or Stop
+                boolean stepping = gate.awaitOp(this::publish);
+                if (cancelled()) break;
+                long seek = gate.takeSeek();
+                if (seek >= 0) {
+                    next = Math.min(seek, timeline.size());
+                    timeline.seek(next, values, counts);
+                    // The first heat seek builds the heat keyframes in a pass over the events, so it stops when nobody looks
+                    if (heat != null && heatmapOn) {
+                        timeline.seekHeat(next, heat);
+                    } else {
+                        heat = null;
+                    }
+                    changed.markAll();
+                    highlightEvent(next > 0 ? timeline.event(next - 1) : -1L);
+                    position = next;
+                    count(counts[Trace.COMPARE], counts[Trace.SWAP], counts[Trace.WRITE]);
+                    publish();
+                    continue;
+                }
+                if (next >= timeline.size()) break;
+
+                long event = timeline.event(next++);
+                counts[Trace.op(event)]++;
+                Trace.apply(event, values);
+                markChanged(event);
+                record(event);
+                if (heat != null) heat.record(event);
+                highlightEvent(event);
+                position = next;
+                count(counts[Trace.COMPARE], counts[Trace.SWAP], counts[Trace.WRITE]);
+                pace(stepping);
+            }
+        }
+
+        private void record(long event) {
+            switch (Trace.op(event)) {
+                case Trace.COMPARE:
+                    metrics.comparisons.increment();
+                    metrics.reads.add(2);
+                    break;
+                case Trace.SWAP:
+                    metrics.swaps.increment();
+                    metrics.reads.add(2);
+                    break;
+                case Trace.WRITE:
+                    metrics.writes.increment();
+                    break;
+                case Trace.READ:
+                    metrics.reads.add(Trace.b(event));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void markChanged(long event) {
+            switch (Trace.op(event)) {
+                case Trace.SWAP:
+                    changed.add(Trace.a(event));
+                    changed.add(Trace.b(event));
+                    break;
+                case Trace.WRITE:
+                    changed.add(Trace.a(event));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void highlightEvent(long event) {
+            if (event == -1L) {
+                highlight1 = highlight2 = -1;
+                return;
+            }
+            highlight1 = Trace.a(event);
+            highlight2 = Trace.op(event) == Trace.WRITE || Trace.op(event) == Trace.READ ? -1 : Trace.b(event);
+        }
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
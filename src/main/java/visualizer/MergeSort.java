@@ -0,0 +1,60 @@
+package visualizer;
+
+/** Top-down Merge Sort through a temporary buffer; one phase per merge. */
+public class MergeSort implements Algorithm {
+    @Override
+    public String name() {
+        return "Merge Sort";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    @Override
+    public boolean isInPlace() {
+        return false;
+    }
+
+    @Override
+    public String complexity() {
+        return "O(n log n)";
+    }
+
+    @Override
+    public void sort(SortArray a) {
+        mergeSort(a, 0, a.length() - 1, new int[a.length()]);
+    }
+
+    private static void mergeSort(SortArray a, int left, int right, int[] temp) {
+        if (left < right) {
+            int mid = (left + right) >>> 1;
+            mergeSort(a, left, mid, temp);
+            mergeSort(a, mid + 1, right, temp);
+            merge(a, left, mid, right, temp);
+        }
+    }
+
+    private static void merge(SortArray a, int left, int mid, int right, int[] temp) {
+        for (int i = left; i <= right; i++) {
+            temp[i] = a.read(i);
+        }
+        int i = left, j = mid + 1, k = left;
+        while (i <= mid && j <= right) {
+            a.compared(i, j);
+            if (temp[i] <= temp[j]) {
+                a.write(k++, temp[i++]);
+            } else {
+                a.write(k++, temp[j++]);
+            }
+        }
+        while (i <= mid) {
+            a.write(k++, temp[i++]);
+        }
+        while (j <= right) {
+            a.write(k++, temp[j++]);
+        }
+        a.phase(left, right);
+    }
+}
@@ -0,0 +1,214 @@
+package visualizer;
+
+import javafx.application.Platform;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.ObjectName;
+
+/**
+ * Hot-path instrumentation. Workers bump the operation counters and the FX
+ * thread records render times; both are plain LongAdder and atomic bucket
+ * increments. A daemon thread turns them into a {@link Sample} at a fixed
+ * rate, and the overlay and JMX only ever read the latest sample.
+ */
+final class Metrics implements MetricsMXBean {
+    static final long SAMPLE_MILLIS = 250;
+    // Render times are bucketed in 0.1 ms steps; the last bucket collects everything from 50 ms up
+    private static final long BUCKET_NANOS = 100_000;
+    private static final int BUCKETS = 501;
+
+    /** One fixed-rate reading of the counters. */
+    static final class Sample {
+        final long comparisons, swaps, writes, reads;
+        final double opsPerSecond;
+        final double frameP50, frameP95, frameP99;   // milliseconds, NaN when nothing was rendered
+        final long runLaterBacklog;
+        final double gcMillisPerSecond;
+        final double startLatency;   // milliseconds from Sort to the run's first frame, NaN before any run
+
+        Sample(long comparisons, long swaps, long writes, long reads, double opsPerSecond,
+               double frameP50, double frameP95, double frameP99, long runLaterBacklog, double gcMillisPerSecond,
+               double startLatency) {
+            this.comparisons = comparisons;
+            this.swaps = swaps;
+            this.writes = writes;
+            this.reads = reads;
+            this.opsPerSecond = opsPerSecond;
+            this.frameP50 = frameP50;
+            this.frameP95 = frameP95;
+            this.frameP99 = frameP99;
+            this.runLaterBacklog = runLaterBacklog;
+            this.gcMillisPerSecond = gcMillisPerSecond;
+            this.startLatency = startLatency;
+        }
+
+        /** Overlay text. */
+        String format() {
+            return String.format("%s ops/s | frame p50 %s p95 %s p99 %s | runLater backlog %d | GC %.1f ms/s | first frame %s",
+                    Pacer.format(opsPerSecond), millis(frameP50), millis(frameP95), millis(frameP99),
+                    runLaterBacklog, gcMillisPerSecond, millis(startLatency));
+        }
+
+        private static String millis(double value) {
+            return Double.isNaN(value) ? "-" : String.format("%.1f ms", value);
+        }
+    }
+
+    final LongAdder comparisons = new LongAdder();
+    final LongAdder swaps = new LongAdder();
+    final LongAdder writes = new LongAdder();
+    final LongAdder reads = new LongAdder();
+    private final LongAdder runLaterBacklog = new LongAdder();
+    private final AtomicLongArray frameBuckets = new AtomicLongArray(BUCKETS);
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "metrics-sampler");
+        t.setDaemon(true);
+        return t;
+    });
+    // Sampler thread only
+    private long lastOps, lastGcMillis, lastNanos;
+    private volatile long startLatencyNanos = -1;
+    private volatile Sample latest = new Sample(0, 0, 0, 0, 0, Double.NaN, Double.NaN, Double.NaN, 0, 0, Double.NaN);
+
+    /** Starts sampling and registers the MXBean; a failed registration only disables JMX. */
+    void start() {
+        lastNanos = System.nanoTime();
+        lastGcMillis = gcMillis();
+        sampler.scheduleAtFixedRate(this::sample, SAMPLE_MILLIS, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName("visualizer:type=Metrics"));
+        } catch (Exception e) {
+            System.err.println("Metrics are not exported over JMX: " + e);
+        }
+    }
+
+    void stop() {
+        sampler.shutdownNow();
+    }
+
+    Sample latest() {
+        return latest;
+    }
+
+    /** Platform.runLater that keeps count of posted but not yet run tasks. */
+    void runLater(Runnable task) {
+        runLaterBacklog.increment();
+        Platform.runLater(() -> {
+            runLaterBacklog.decrement();
+            task.run();
+        });
+    }
+
+    /** Records how long one frame took to render; FX thread. */
+    void recordFrame(long nanos) {
+        frameBuckets.incrementAndGet((int) Math.min(BUCKETS - 1, nanos / BUCKET_NANOS));
+    }
+
+    /** Records the time from starting a run to showing its first frame; FX thread. */
+    void recordStartLatency(long nanos) {
+        startLatencyNanos = nanos;
+    }
+
+    private void sample() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-9, (now - lastNanos) / 1e9);
+        long c = comparisons.sum(), s = swaps.sum(), w = writes.sum(), r = reads.sum();
+        long ops = c + s + w;
+        long gc = gcMillis();
+
+        long[] counts = new long[BUCKETS];
+        long frames = 0;
+        for (int k = 0; k < BUCKETS; k++) {
+            counts[k] = frameBuckets.getAndSet(k, 0);
+            frames += counts[k];
+        }
+        latest = new Sample(c, s, w, r, (ops - lastOps) / seconds,
+                percentile(counts, frames, 0.50), percentile(counts, frames, 0.95), percentile(counts, frames, 0.99),
+                runLaterBacklog.sum(), (gc - lastGcMillis) / seconds,
+                startLatencyNanos < 0 ? Double.NaN : startLatencyNanos / 1e6);
+        lastOps = ops;
+        lastGcMillis = gc;
+        lastNanos = now;
+    }
+
+    /** Upper edge of the bucket holding the given quantile, in milliseconds. */
+    private static double percentile(long[] counts, long total, double quantile) {
+        if (total == 0) return Double.NaN;
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int k = 0; k < counts.length; k++) {
+            seen += counts[k];
+            if (seen >= rank) return (k + 1) * BUCKET_NANOS / 1e6;
+        }
+        return counts.length * BUCKET_NANOS / 1e6;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    @Override
+    public long getComparisons() {
+        return latest.comparisons;
+    }
+
+    @Override
+    public long getSwaps() {
+        return latest.swaps;
+    }
+
+    @Override
+    public long getWrites() {
+        return latest.writes;
+    }
+
+    @Override
+    public long getReads() {
+        return latest.reads;
+    }
+
+    @Override
+    public double getOpsPerSecond() {
+        return latest.opsPerSecond;
+    }
+
+    @Override
+    public double getFrameTimeP50Millis() {
+        return latest.frameP50;
+    }
+
+    @Override
+    public double getFrameTimeP95Millis() {
+        return latest.frameP95;
+    }
+
+    @Override
+    public double getFrameTimeP99Millis() {
+        return latest.frameP99;
+    }
+
+    @Override
+    public long getRunLaterBacklog() {
+        return latest.runLaterBacklog;
+    }
+
+    @Override
+    public double getGcMillisPerSecond() {
+        return latest.gcMillisPerSecond;
+    }
+
+    @Override
+    public double getStartToFirstFrameMillis() {
+        return latest.startLatency;
+    }
+}
@@ -0,0 +1,29 @@
+package visualizer;
+
+/**
+ * Live visualizer metrics as exported over JMX. Values come from the last
+ * fixed-rate sample, so reading them never touches the hot path.
+ */
+public interface MetricsMXBean {
+    long getComparisons();
+
+    long getSwaps();
+
+    long getWrites();
+
+    long getReads();
+
+    double getOpsPerSecond();
+
+    double getFrameTimeP50Millis();
+
+    double getFrameTimeP95Millis();
+
+    double getFrameTimeP99Millis();
+
+    long getRunLaterBacklog();
+
+    double getGcMillisPerSecond();
+
+    double getStartToFirstFrameMillis();
+}
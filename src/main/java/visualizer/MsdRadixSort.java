@@ -0,0 +1,80 @@
+package visualizer;
+
+/**
+ * Most-significant-digit Radix Sort: distributes a range by one byte through
+ * a buffer, then sorts each bucket by the next byte. Small buckets finish
+ * with an insertion sort. One phase per distribution or insertion sort.
+ */
+public class MsdRadixSort implements Algorithm {
+    private static final int BITS = 8;
+    private static final int RADIX = 1 << BITS;
+    private static final int INSERTION_CUTOFF = 16;
+
+    @Override
+    public String name() {
+        return "MSD Radix Sort";
+    }
+
+    @Override
+    public boolean isStable() {
+        return false;
+    }
+
+    @Override
+    public boolean isInPlace() {
+        return false;
+    }
+
+    @Override
+    public String complexity() {
+        return "O(n * w)";
+    }
+
+    @Override
+    public void sort(SortArray a) {
+        msd(a, 0, a.length(), Integer.SIZE - BITS, new int[a.length()]);
+    }
+
+    /** Sorts [from, to) by the digits at {@code shift} and below. */
+    private static void msd(SortArray a, int from, int to, int shift, int[] buffer) {
+        if (to - from <= INSERTION_CUTOFF) {
+            insertionSort(a, from, to);
+            return;
+        }
+        int[] starts = new int[RADIX + 1];
+        for (int i = from; i < to; i++) {
+            starts[LsdRadixSort.digit(a.read(i), shift) + 1]++;
+        }
+        if (!LsdRadixSort.singleDigit(starts, to - from)) {
+            for (int d = 0; d < RADIX; d++) {
+                starts[d + 1] += starts[d];
+            }
+            int[] next = starts.clone();
+            for (int i = from; i < to; i++) {
+                int v = a.read(i);
+                buffer[from + next[LsdRadixSort.digit(v, shift)]++] = v;
+            }
+            for (int i = from; i < to; i++) {
+                a.write(i, buffer[i]);
+            }
+            a.phase(from, to - 1);
+        } else {
+            // Everything shares this digit: the whole range is one bucket
+            starts = new int[RADIX + 1];
+            starts[RADIX] = to - from;
+        }
+        if (shift == 0) return;
+        for (int d = 0; d < RADIX; d++) {
+            if (starts[d + 1] - starts[d] > 1) msd(a, from + starts[d], from + starts[d + 1], shift - BITS, buffer);
+        }
+    }
+
+    private static void insertionSort(SortArray a, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; j > from && a.compare(j - 1, j) > 0; j--) {
+                a.swap(j - 1, j);
+            }
+        }
+        if (to - from > 1) a.phase(from, to - 1);
+    }
+}
@@ -0,0 +1,94 @@
+package visualizer;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ints in native memory, addressed with long indices, for arrays the heap
+ * would only hold at the price of long GC pauses. Each array owns a shared
+ * arena, so any thread may read and write it, and {@link #close()} frees the
+ * memory at once. The bytes held by all open arrays are tracked for the info
+ * bar.
+ */
+final class OffHeapIntArray implements AutoCloseable {
+    private static final AtomicLong ALLOCATED = new AtomicLong();
+
+    private final Arena arena = Arena.ofShared();
+    private final MemorySegment segment;
+    private final long length;
+    private boolean closed;
+
+    OffHeapIntArray(long length) {
+        if (length < 0) throw new IllegalArgumentException("Negative length: " + length);
+        this.length = length;
+        this.segment = arena.allocate(length * Integer.BYTES, Integer.BYTES);
+        ALLOCATED.addAndGet(segment.byteSize());
+    }
+
+    /** Bytes held by all arrays not yet closed. */
+    static long allocatedBytes() {
+        return ALLOCATED.get();
+    }
+
+    long length() {
+        return length;
+    }
+
+    int get(long i) {
+        return segment.getAtIndex(ValueLayout.JAVA_INT, i);
+    }
+
+    void set(long i, int value) {
+        segment.setAtIndex(ValueLayout.JAVA_INT, i, value);
+    }
+
+    void swap(long i, long j) {
+        int temp = get(i);
+        set(i, get(j));
+        set(j, temp);
+    }
+
+    /** Copies {@code source} into the elements starting at {@code offset}. */
+    void copyFrom(int[] source, long offset) {
+        MemorySegment.copy(source, 0, segment, ValueLayout.JAVA_INT, offset * Integer.BYTES, source.length);
+    }
+
+    /** A new array with the same contents; {@link #close()} waits for a copy in progress. */
+    synchronized OffHeapIntArray copy() {
+        OffHeapIntArray copy = new OffHeapIntArray(length);
+        MemorySegment.copy(segment, 0, copy.segment, 0, segment.byteSize());
+        return copy;
+    }
+
+    /**
+     * Fills {@code out} with evenly spaced elements, the k-th sample being
+     * element {@code k * length / out.length}; {@code out} must not be longer
+     * than the array.
+     */
+    synchronized int[] sample(int[] out) {
+        for (int k = 0; k < out.length; k++) {
+            out[k] = get(k * length / out.length);
+        }
+        return out;
+    }
+
+    /** Index of the sample that element {@code i} falls into, for {@code samples} samples. */
+    int sampleOf(long i, int samples) {
+        return (int) (i * samples / length);
+    }
+
+    /**
+     * Frees the memory; apart from {@link #copy()} and {@link #sample}, which
+     * it waits for, the array must no longer be used by any thread. Closing
+     * twice is harmless.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        arena.close();
+        ALLOCATED.addAndGet(-segment.byteSize());
+    }
+}
@@ -0,0 +1,78 @@
+package visualizer;
+
+/**
+ * SortArray over an {@link OffHeapIntArray}, so the unchanged algorithms can
+ * sort arrays that live outside the heap. Operations are counted like in
+ * {@link CountingArray}, and every {@link #TICK} operations a hook runs where
+ * the visualizer publishes a frame and notices Stop. SortArray indices are
+ * ints, which covers arrays of up to {@code Integer.MAX_VALUE} elements.
+ */
+final class OffHeapSortArray implements SortArray {
+    static final int TICK = 1 << 16;
+
+    private final OffHeapIntArray values;
+    private final int length;
+    private final Runnable tick;
+    private int untilTick = TICK;
+    long reads, writes, comparisons, swaps;
+    // Indices of the operation that ran the latest tick, for highlighting
+    int last1 = -1, last2 = -1;
+
+    OffHeapSortArray(OffHeapIntArray values, Runnable tick) {
+        if (values.length() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many elements for int indices: " + values.length());
+        }
+        this.values = values;
+        this.length = (int) values.length();
+        this.tick = tick;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public int read(int i) {
+        reads++;
+        count(i, -1);
+        return values.get(i);
+    }
+
+    @Override
+    public void write(int i, int value) {
+        writes++;
+        values.set(i, value);
+        count(i, -1);
+    }
+
+    @Override
+    public int compare(int i, int j) {
+        comparisons++;
+        reads += 2;
+        count(i, j);
+        return Integer.compare(values.get(i), values.get(j));
+    }
+
+    @Override
+    public void swap(int i, int j) {
+        swaps++;
+        values.swap(i, j);
+        count(i, j);
+    }
+
+    @Override
+    public void compared(int i, int j) {
+        comparisons++;
+        count(i, j);
+    }
+
+    private void count(int i, int j) {
+        if (--untilTick == 0) {
+            untilTick = TICK;
+            last1 = i;
+            last2 = j;
+            tick.run();
+        }
+    }
+}
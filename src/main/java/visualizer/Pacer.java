@@ -0,0 +1,103 @@
+package visualizer;
+
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces the worker at a rate given in operations per second. Below the
+ * display refresh rate every operation gets its own frame; above it the
+ * operations that fall into one frame interval are run as a batch and the
+ * worker only publishes and sleeps at the end of each batch. Sleeping is
+ * against an absolute deadline, so timer jitter does not accumulate.
+ *
+ * The rate is written by the FX thread and read by the worker through a
+ * volatile field; everything else is only touched by the worker. Parallel
+ * sorts give every pool worker its own pacer from {@link #forWorker()}, which
+ * keeps a private clock but follows the rate and cancellation of its parent.
+ */
+final class Pacer {
+    static final double MIN_RATE = 0.5;
+    static final double MAX_RATE = 5_000_000;
+    static final long FRAME_NANOS = 1_000_000_000L / 60;
+    // Falling further behind than this (pause, seek, slow frame) restarts the clock instead of bursting
+    private static final long RESYNC_NANOS = 4 * FRAME_NANOS;
+    // Longest single park, so cancel() is noticed promptly even at very low rates
+    private static final long MAX_PARK_NANOS = FRAME_NANOS;
+
+    private final Pacer shared;
+    private volatile double opsPerSecond = 10;
+    private volatile boolean cancelled;
+    private long nextDeadline;
+    private long opsInBatch;
+
+    Pacer() {
+        this.shared = this;
+    }
+
+    private Pacer(Pacer shared) {
+        this.shared = shared;
+        this.nextDeadline = System.nanoTime();
+    }
+
+    /** A pacer with its own clock that shares this pacer's rate and cancellation. */
+    Pacer forWorker() {
+        return new Pacer(this);
+    }
+
+    // --- FX side ---
+    void setRate(double opsPerSecond) {
+        this.opsPerSecond = Math.max(MIN_RATE, Math.min(MAX_RATE, opsPerSecond));
+    }
+
+    double getRate() {
+        return opsPerSecond;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    // --- Worker side ---
+    void start() {
+        cancelled = false;
+        opsInBatch = 0;
+        nextDeadline = System.nanoTime();
+    }
+
+    /**
+     * Accounts for one operation. Returns true at the end of a batch, when the
+     * caller should publish a frame and then call {@link #awaitDeadline()}.
+     */
+    boolean countOp() {
+        double rate = shared.opsPerSecond;
+        long batch = Math.max(1, (long) (rate * FRAME_NANOS / 1e9));
+        if (++opsInBatch < batch) return false;
+        nextDeadline += (long) (opsInBatch * 1e9 / rate);
+        opsInBatch = 0;
+        return true;
+    }
+
+    /** Sleeps until the end of the current batch's time slot. */
+    void awaitDeadline() throws InterruptedException {
+        long now = System.nanoTime();
+        if (now - nextDeadline > RESYNC_NANOS) {
+            nextDeadline = now;
+        }
+        long wait;
+        while (!shared.cancelled && (wait = nextDeadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, Math.min(wait, MAX_PARK_NANOS));
+            if (Thread.interrupted()) throw new InterruptedException();
+        }
+    }
+
+    /** Short human readable rate, e.g. "0.5", "120", "3.4k", "2M". */
+    static String format(double opsPerSecond) {
+        if (opsPerSecond >= 1_000_000) return trim(opsPerSecond / 1_000_000) + "M";
+        if (opsPerSecond >= 1_000) return trim(opsPerSecond / 1_000) + "k";
+        return trim(opsPerSecond);
+    }
+
+    private static String trim(double value) {
+        return value >= 10 ? String.valueOf(Math.round(value)) : String.format(Locale.ROOT, "%.1f", value).replace(".0", "");
+    }
+}
@@ -0,0 +1,256 @@
+package visualizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join versions of Quick Sort, Merge Sort and Bitonic Sort; the Quick
+ * Sort picks median-of-three pivots and partitions three ways, so sorted
+ * input splits evenly and runs of equal keys drop out at once. Ranges
+ * smaller than {@code cutoff} are sorted in the current worker without
+ * forking; with a cutoff of {@link Integer#MAX_VALUE} the same code is the
+ * sequential baseline the speed-up is measured against.
+ */
+final class ParallelSorts {
+    static final String QUICK = "Parallel Quick Sort";
+    static final String MERGE = "Parallel Merge Sort";
+    static final String BITONIC = "Parallel Bitonic Sort";
+    static final int SEQUENTIAL = Integer.MAX_VALUE;
+    // Loops poll LaneArray.checkCancelled() once per this many + 1 iterations
+    private static final int CANCEL_CHECK_MASK = (1 << 12) - 1;
+
+    private ParallelSorts() {
+    }
+
+    static boolean isParallel(String algorithm) {
+        return algorithm.equals(QUICK) || algorithm.equals(MERGE) || algorithm.equals(BITONIC);
+    }
+
+    /**
+     * Sorts on {@code pool} and waits for it; with a cutoff of {@link #SEQUENTIAL}
+     * a single pool worker sorts without forking. An interrupt stops the wait,
+     * after which the caller is expected to shut the pool down.
+     */
+    static void sort(String algorithm, LaneArray a, ForkJoinPool pool, int cutoff) throws InterruptedException {
+        RecursiveAction task;
+        int n = a.length();
+        switch (algorithm) {
+            case QUICK: task = new QuickSortTask(a, 0, n - 1, cutoff); break;
+            case MERGE: task = new MergeSortTask(a, 0, n - 1, new int[n], cutoff); break;
+            case BITONIC: task = new BitonicSortTask(a, 0, n, true, cutoff); break;
+            default: throw new IllegalArgumentException("Not a parallel algorithm: " + algorithm);
+        }
+        try {
+            pool.submit(task).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // --- Quick Sort ---
+    @SuppressWarnings("serial")   // Tasks are never serialized
+    private static final class QuickSortTask extends RecursiveAction {
+        private final LaneArray a;
+        private final int low, high, cutoff;
+
+        QuickSortTask(LaneArray a, int low, int high, int cutoff) {
+            this.a = a;
+            this.low = low;
+            this.high = high;
+            this.cutoff = cutoff;
+        }
+
+        /** Forks the smaller side of each partition and loops on the larger one, so the stack stays logarithmic. */
+        @Override
+        protected void compute() {
+            int low = this.low, high = this.high;
+            List<QuickSortTask> forked = new ArrayList<>();
+            while (low < high && high - low >= cutoff) {
+                long equal = partition(a, low, high);
+                int lt = (int) (equal >>> 32), gt = (int) equal;
+                QuickSortTask smaller;
+                if (lt - low < high - gt) {
+                    smaller = new QuickSortTask(a, low, lt - 1, cutoff);
+                    low = gt + 1;
+                } else {
+                    smaller = new QuickSortTask(a, gt + 1, high, cutoff);
+                    high = lt - 1;
+                }
+                smaller.fork();
+                forked.add(smaller);
+            }
+            quickSort(a, low, high);
+            for (QuickSortTask task : forked) {
+                task.join();
+            }
+        }
+    }
+
+    private static void quickSort(LaneArray a, int low, int high) {
+        while (low < high) {
+            long equal = partition(a, low, high);
+            int lt = (int) (equal >>> 32), gt = (int) equal;
+            if (lt - low < high - gt) {
+                quickSort(a, low, lt - 1);
+                low = gt + 1;
+            } else {
+                quickSort(a, gt + 1, high);
+                high = lt - 1;
+            }
+        }
+    }
+
+    /**
+     * Three-way (Dutch flag) partition around the median of the first, middle
+     * and last elements. Returns the bounds {@code lt} and {@code gt} of the
+     * keys equal to the pivot, packed as {@code lt << 32 | gt}: smaller keys
+     * end up before {@code lt} and larger ones after {@code gt}.
+     */
+    private static long partition(LaneArray a, int low, int high) {
+        int mid = (low + high) >>> 1;
+        if (a.compare(mid, low) < 0) a.swap(mid, low);
+        if (a.compare(high, low) < 0) a.swap(high, low);
+        if (a.compare(mid, high) < 0) a.swap(mid, high);
+        a.swap(low, high);
+        // [low, lt) smaller, [lt, i) equal to the pivot, which stays at lt, (gt, high] larger
+        int lt = low, i = low + 1, gt = high;
+        while (i <= gt) {
+            if ((i & CANCEL_CHECK_MASK) == 0) a.checkCancelled();
+            int c = a.compare(i, lt);
+            if (c < 0) {
+                a.swap(lt++, i++);
+            } else if (c > 0) {
+                a.swap(i, gt--);
+            } else {
+                i++;
+            }
+        }
+        return ((long) lt << 32) | gt;
+    }
+
+    // --- Merge Sort ---
+    @SuppressWarnings("serial")   // Tasks are never serialized
+    private static final class MergeSortTask extends RecursiveAction {
+        private final LaneArray a;
+        private final int left, right, cutoff;
+        private final int[] temp;
+
+        MergeSortTask(LaneArray a, int left, int right, int[] temp, int cutoff) {
+            this.a = a;
+            this.left = left;
+            this.right = right;
+            this.temp = temp;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (left >= right) return;
+            if (right - left < cutoff) {
+                mergeSort(a, left, right, temp);
+                return;
+            }
+            int mid = (left + right) >>> 1;
+            invokeAll(new MergeSortTask(a, left, mid, temp, cutoff), new MergeSortTask(a, mid + 1, right, temp, cutoff));
+            merge(a, left, mid, right, temp);
+        }
+    }
+
+    private static void mergeSort(LaneArray a, int left, int right, int[] temp) {
+        if (left < right) {
+            int mid = (left + right) >>> 1;
+            mergeSort(a, left, mid, temp);
+            mergeSort(a, mid + 1, right, temp);
+            merge(a, left, mid, right, temp);
+        }
+    }
+
+    private static void merge(LaneArray a, int left, int mid, int right, int[] temp) {
+        System.arraycopy(a.values, left, temp, left, right - left + 1);
+        int i = left, j = mid + 1, k = left;
+        while (i <= mid && j <= right) {
+            if ((k & CANCEL_CHECK_MASK) == 0) a.checkCancelled();
+            if (temp[i] <= temp[j]) {
+                a.set(k++, temp[i++]);
+            } else {
+                a.set(k++, temp[j++]);
+            }
+        }
+        while (i <= mid) {
+            if ((k & CANCEL_CHECK_MASK) == 0) a.checkCancelled();
+            a.set(k++, temp[i++]);
+        }
+        while (j <= right) {
+            if ((k & CANCEL_CHECK_MASK) == 0) a.checkCancelled();
+            a.set(k++, temp[j++]);
+        }
+    }
+
+    // --- Bitonic Sort, generalised to any n ---
+    @SuppressWarnings("serial")   // Tasks are never serialized
+    private static final class BitonicSortTask extends RecursiveAction {
+        private final LaneArray a;
+        private final int lo, n, cutoff;
+        private final boolean up;
+
+        BitonicSortTask(LaneArray a, int lo, int n, boolean up, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.n = n;
+            this.up = up;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (n <= 1) return;
+            int m = n / 2;
+            if (n < cutoff) {
+                new BitonicSortTask(a, lo, m, !up, cutoff).compute();
+                new BitonicSortTask(a, lo + m, n - m, up, cutoff).compute();
+            } else {
+                invokeAll(new BitonicSortTask(a, lo, m, !up, cutoff), new BitonicSortTask(a, lo + m, n - m, up, cutoff));
+            }
+            new BitonicMergeTask(a, lo, n, up, cutoff).compute();
+        }
+    }
+
+    @SuppressWarnings("serial")   // Tasks are never serialized
+    private static final class BitonicMergeTask extends RecursiveAction {
+        private final LaneArray a;
+        private final int lo, n, cutoff;
+        private final boolean up;
+
+        BitonicMergeTask(LaneArray a, int lo, int n, boolean up, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.n = n;
+            this.up = up;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (n <= 1) return;
+            int m = Integer.highestOneBit(n - 1);
+            for (int i = lo; i < lo + n - m; i++) {
+                if ((i & CANCEL_CHECK_MASK) == 0) a.checkCancelled();
+                if ((a.compare(i, i + m) > 0) == up) {
+                    a.swap(i, i + m);
+                }
+            }
+            if (n < cutoff) {
+                new BitonicMergeTask(a, lo, m, up, cutoff).compute();
+                new BitonicMergeTask(a, lo + m, n - m, up, cutoff).compute();
+            } else {
+                invokeAll(new BitonicMergeTask(a, lo, m, up, cutoff), new BitonicMergeTask(a, lo + m, n - m, up, cutoff));
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package visualizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+/**
+ * Times batches of lookups against a {@link SortedIndex}: queries per second
+ * and probes per query, on one thread or split over several. The queries are
+ * divided into one contiguous share per thread. A batch stops early once it
+ * has used its time budget, so slow searches on large arrays still finish;
+ * the result counts only the queries that ran.
+ */
+final class QueryBatch {
+    static final class Result {
+        final String search, distribution;
+        final int size, threads;
+        final long queries, wallNanos, probes, hits;
+
+        Result(String search, int size, String distribution, int threads, long queries, long wallNanos,
+               long probes, long hits) {
+            this.search = search;
+            this.size = size;
+            this.distribution = distribution;
+            this.threads = threads;
+            this.queries = queries;
+            this.wallNanos = wallNanos;
+            this.probes = probes;
+            this.hits = hits;
+        }
+
+        double queriesPerSecond() {
+            return queries * 1e9 / Math.max(1, wallNanos);
+        }
+
+        double probesPerQuery() {
+            return (double) probes / Math.max(1, queries);
+        }
+    }
+
+    /** Queries checked between looks at the clock and the interrupt flag. */
+    private static final int CHECK_EVERY = 64;
+
+    /** Probe consumer that only counts, one per thread. */
+    private static final class ProbeCounter implements IntConsumer {
+        long probes;
+
+        @Override
+        public void accept(int slot) {
+            probes++;
+        }
+    }
+
+    private QueryBatch() {
+    }
+
+    /**
+     * {@code count} lookups for {@code index}, reproducible for a seed: even
+     * ones are values from the array, odd ones are uniform over its value
+     * range and mostly miss.
+     */
+    static int[] queries(SortedIndex index, int count, long seed) {
+        int[] queries = new int[count];
+        int n = index.size();
+        if (n == 0) return queries;
+        SplittableRandom random = new SplittableRandom(seed);
+        long min = index.keys[0], range = (long) index.keys[n - 1] - min + 1;
+        for (int q = 0; q < count; q++) {
+            queries[q] = (q & 1) == 0 ? index.values[random.nextInt(n)] : (int) (min + random.nextLong(range));
+        }
+        return queries;
+    }
+
+    /** Runs {@code queries} with {@code search} on {@code threads} threads, for at most {@code budgetNanos}. */
+    static Result run(SearchAlgorithm search, SortedIndex index, String distribution, int[] queries, int threads,
+                      long budgetNanos) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            long deadline = start + budgetNanos;
+            List<Future<long[]>> shares = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int from = (int) ((long) queries.length * t / threads);
+                int to = (int) ((long) queries.length * (t + 1) / threads);
+                shares.add(pool.submit(() -> runShare(search, index, queries, from, to, deadline)));
+            }
+            long done = 0, probes = 0, hits = 0;
+            for (Future<long[]> share : shares) {
+                long[] counts = share.get();
+                done += counts[0];
+                probes += counts[1];
+                hits += counts[2];
+            }
+            long wall = System.nanoTime() - start;
+            return new Result(search.name, index.size(), distribution, threads, done, wall, probes, hits);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Queries, probes and hits of one thread's share. */
+    private static long[] runShare(SearchAlgorithm search, SortedIndex index, int[] queries, int from, int to,
+                                   long deadline) {
+        ProbeCounter counter = new ProbeCounter();
+        long hits = 0;
+        int q = from;
+        while (q < to) {
+            int end = Math.min(to, q + CHECK_EVERY);
+            for (; q < end; q++) {
+                if (search.find(index, queries[q], counter) >= 0) hits++;
+            }
+            if (System.nanoTime() - deadline > 0 || Thread.currentThread().isInterrupted()) break;
+        }
+        return new long[]{q - from, counter.probes, hits};
+    }
+
+    static String toCsv(List<Result> results) {
+        StringBuilder out = new StringBuilder(
+                "search,size,distribution,threads,queries,wall_ms,queries_per_sec,probes_per_query,hits\n");
+        for (Result r : results) {
+            out.append(String.format(Locale.ROOT, "\"%s\",%d,%s,%d,%d,%.3f,%.0f,%.2f,%d%n",
+                    r.search, r.size, r.distribution, r.threads, r.queries, r.wallNanos / 1e6,
+                    r.queriesPerSecond(), r.probesPerQuery(), r.hits));
+        }
+        return out.toString();
+    }
+
+    static String toJson(List<Result> results) {
+        StringBuilder out = new StringBuilder("[\n");
+        for (int k = 0; k < results.size(); k++) {
+            Result r = results.get(k);
+            out.append(String.format(Locale.ROOT,
+                    "  {\"search\": \"%s\", \"size\": %d, \"distribution\": \"%s\", \"threads\": %d, \"queries\": %d, "
+                            + "\"wall_ms\": %.3f, \"queries_per_sec\": %.0f, \"probes_per_query\": %.2f, \"hits\": %d}",
+                    r.search, r.size, r.distribution, r.threads, r.queries, r.wallNanos / 1e6,
+                    r.queriesPerSecond(), r.probesPerQuery(), r.hits));
+            out.append(k + 1 < results.size() ? ",\n" : "\n");
+        }
+        return out.append("]\n").toString();
+    }
+}
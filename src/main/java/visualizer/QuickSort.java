@@ -0,0 +1,56 @@
+package visualizer;
+
+/** Lomuto-partition Quick Sort with the last element as pivot; one phase per partition. */
+public class QuickSort implements Algorithm {
+    @Override
+    public String name() {
+        return "Quick Sort";
+    }
+
+    @Override
+    public boolean isStable() {
+        return false;
+    }
+
+    @Override
+    public boolean isInPlace() {
+        return true;
+    }
+
+    @Override
+    public String complexity() {
+        return "O(n log n)";
+    }
+
+    @Override
+    public void sort(SortArray a) {
+        quickSort(a, 0, a.length() - 1);
+    }
+
+    private static void quickSort(SortArray a, int low, int high) {
+        // Recurse into the smaller side and loop on the larger one to bound the stack depth
+        while (low < high) {
+            int pi = partition(a, low, high);
+            if (pi - low < high - pi) {
+                quickSort(a, low, pi - 1);
+                low = pi + 1;
+            } else {
+                quickSort(a, pi + 1, high);
+                high = pi - 1;
+            }
+        }
+    }
+
+    private static int partition(SortArray a, int low, int high) {
+        int i = low - 1;
+        for (int j = low; j < high; j++) {
+            if (a.compare(j, high) < 0) {
+                i++;
+                a.swap(i, j);
+            }
+        }
+        a.swap(i + 1, high);
+        a.phase(low, high);
+        return i + 1;
+    }
+}
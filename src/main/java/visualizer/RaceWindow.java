@@ -0,0 +1,399 @@
+package visualizer;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.stage.Stage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Race mode: one input cloned into N lanes, each sorted live by its own
+ * algorithm on a virtual thread. All lanes run at the same paced rate, so the
+ * finishing order follows the operation counts. Each lane draws into its own
+ * tile through the shared frame pump. The leaderboard also lists the unpaced
+ * wall time of each algorithm on the same input.
+ */
+final class RaceWindow {
+    static final int MAX_LANES = 8;
+    private static final double TILE_SCALE = 0.45;
+
+    private final FramePump framePump;
+    private final Metrics metrics;
+    private final Stage stage = new Stage();
+    // Bumped by every Start and Stop; lanes of an older race stop at their next operation
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger finished = new AtomicInteger();
+    // Lanes of the current race on the leaderboard, finished or failed; FX thread
+    private int lanesDone;
+    private final Pacer pacer = new Pacer();
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Lane> lanes = new ArrayList<>();
+    private final GridPane tiles = new GridPane();
+    private final VBox leaderboard = new VBox(6);
+    private final Spinner<Integer> laneSpinner = new Spinner<>(1, MAX_LANES, 4);
+    private final ComboBox<Integer> sizeBox = new ComboBox<>();
+    private final ComboBox<Distribution> distributionBox = new ComboBox<>();
+    private final TextField seedField = new TextField("1");
+    private final Slider speedSlider = new Slider(Math.log10(Pacer.MIN_RATE), Math.log10(Pacer.MAX_RATE), 4);
+    private final Label speedValueLabel = new Label();
+    private final Button startBtn = new Button("Start");
+    private final Button stopBtn = new Button("Stop");
+    private boolean racing;
+
+    RaceWindow(FramePump framePump, Metrics metrics) {
+        this.framePump = framePump;
+        this.metrics = metrics;
+
+        String btnStyle = "-fx-font-size: 15px; -fx-background-radius: 9; -fx-padding: 5 20 5 20;";
+        startBtn.setStyle(btnStyle + "-fx-background-color: #43A047; -fx-text-fill: white;");
+        stopBtn.setStyle(btnStyle + "-fx-background-color: #D32F2F; -fx-text-fill: white;");
+        stopBtn.setDisable(true);
+        startBtn.setOnAction(e -> start());
+        stopBtn.setOnAction(e -> stop());
+
+        laneSpinner.setPrefWidth(70);
+        laneSpinner.valueProperty().addListener((obs, oldVal, newVal) -> buildLanes(newVal));
+        sizeBox.getItems().addAll(100, 1_000, 10_000);
+        sizeBox.setValue(10_000);
+        distributionBox.getItems().addAll(Distribution.values());
+        distributionBox.setValue(Distribution.RANDOM);
+        seedField.setPrefWidth(90);
+        speedSlider.setPrefWidth(260);
+        speedSlider.valueProperty().addListener((obs, oldVal, newVal) -> updateRate(newVal.doubleValue()));
+        updateRate(speedSlider.getValue());
+
+        Label lanesLbl = new Label("Lanes:");
+        Label sizeLbl = new Label("Size:");
+        Label seedLbl = new Label("Seed:");
+        Label speedLbl = new Label("Speed:");
+        for (Label label : List.of(lanesLbl, sizeLbl, seedLbl, speedLbl, speedValueLabel)) {
+            label.setStyle("-fx-font-size: 15px; -fx-text-fill: #FFFFFF;");
+        }
+        HBox controls = new HBox(15, startBtn, stopBtn, lanesLbl, laneSpinner, sizeLbl, sizeBox, distributionBox,
+                seedLbl, seedField, speedLbl, speedSlider, speedValueLabel);
+        controls.setAlignment(Pos.CENTER_LEFT);
+        controls.setPadding(new Insets(12));
+        controls.setStyle("-fx-background-color: #232348;");
+
+        tiles.setHgap(8);
+        tiles.setVgap(8);
+        tiles.setPadding(new Insets(8));
+        leaderboard.setPadding(new Insets(12));
+        leaderboard.setPrefWidth(300);
+        leaderboard.setStyle("-fx-background-color: #232348;");
+
+        BorderPane root = new BorderPane(tiles);
+        root.setTop(controls);
+        root.setRight(leaderboard);
+        root.setStyle("-fx-background-color: #181828;");
+        buildLanes(laneSpinner.getValue());
+
+        stage.setScene(new Scene(root, 1400, 800));
+        stage.setTitle("Algorithm Race");
+        stage.setOnHidden(e -> stop());
+    }
+
+    void show() {
+        stage.show();
+        stage.toFront();
+    }
+
+    /** Stops the race for good and interrupts its workers; called on exit. */
+    void close() {
+        stop();
+        workers.shutdownNow();
+        stage.hide();
+    }
+
+    private void updateRate(double sliderValue) {
+        pacer.setRate(Math.pow(10, sliderValue));
+        speedValueLabel.setText(Pacer.format(pacer.getRate()) + " ops/s");
+    }
+
+    /** Replaces the tiles; the algorithm choices of lanes that stay are kept. */
+    private void buildLanes(int count) {
+        if (racing) stop();
+        List<Algorithm> all = Algorithms.all();
+        while (lanes.size() > count) {
+            framePump.remove(lanes.remove(lanes.size() - 1).slot);
+        }
+        while (lanes.size() < count) {
+            Lane lane = new Lane(lanes.size(), all.get(lanes.size() % all.size()).name());
+            lanes.add(lane);
+            framePump.add(lane.slot, lane::show);
+        }
+
+        int columns = Math.min(4, count);
+        tiles.getChildren().clear();
+        tiles.getColumnConstraints().clear();
+        for (int c = 0; c < columns; c++) {
+            ColumnConstraints constraints = new ColumnConstraints();
+            constraints.setPercentWidth(100.0 / columns);
+            tiles.getColumnConstraints().add(constraints);
+        }
+        for (Lane lane : lanes) {
+            tiles.add(lane.tile, lane.index % columns, lane.index / columns);
+        }
+        resetLeaderboard();
+    }
+
+    private void resetLeaderboard() {
+        leaderboard.getChildren().clear();
+        Label title = new Label("Finishing order");
+        title.setStyle("-fx-font-size: 17px; -fx-text-fill: #E0E0E0; -fx-font-weight: bold;");
+        leaderboard.getChildren().add(title);
+    }
+
+    private void start() {
+        long seed;
+        try {
+            seed = Long.parseLong(seedField.getText().trim());
+        } catch (NumberFormatException e) {
+            seedField.setText("1");
+            return;
+        }
+        long id = generation.incrementAndGet();
+        pacer.start();
+        finished.set(0);
+        lanesDone = 0;
+        resetLeaderboard();
+        // Rerunning a race with the same seed takes the input from the cache
+        int[] input = DatasetCache.SHARED.get(distributionBox.getValue(), sizeBox.getValue(), seed);
+        for (Lane lane : lanes) {
+            lane.start(id, input.clone());
+        }
+        setRacing(true);
+    }
+
+    private void stop() {
+        generation.incrementAndGet();
+        pacer.cancel();
+        for (Lane lane : lanes) {
+            lane.slot.clear();
+        }
+        setRacing(false);
+    }
+
+    private void setRacing(boolean racing) {
+        this.racing = racing;
+        startBtn.setDisable(racing);
+        stopBtn.setDisable(!racing);
+        sizeBox.setDisable(racing);
+        distributionBox.setDisable(racing);
+        seedField.setDisable(racing);
+        for (Lane lane : lanes) {
+            lane.algorithmBox.setDisable(racing);
+        }
+    }
+
+    /** Adds a finished lane to the leaderboard; FX thread. */
+    private void finish(long id, Lane lane, int place, String algorithm, long ops, long wallNanos) {
+        if (generation.get() != id) return;
+        Label row = new Label(String.format("%d. %s (lane %d)%n    %,d ops, %.2f ms unpaced",
+                place, algorithm, lane.index + 1, ops, wallNanos / 1e6));
+        row.setStyle("-fx-font-size: 14px; -fx-text-fill: " + (place == 1 ? "#FFEB3B;" : "#FFFFFF;"));
+        addLeaderboardRow(row);
+    }
+
+    /** Adds a lane whose algorithm threw to the leaderboard, unplaced; FX thread. */
+    private void fail(long id, Lane lane, String algorithm, Throwable error) {
+        if (generation.get() != id) return;
+        String reason = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        Label row = new Label(String.format("-. %s (lane %d)%n    failed: %s", algorithm, lane.index + 1, reason));
+        row.setWrapText(true);
+        row.setStyle("-fx-font-size: 14px; -fx-text-fill: #EF5350;");
+        addLeaderboardRow(row);
+    }
+
+    /** The race ends once every lane has finished or failed. */
+    private void addLeaderboardRow(Label row) {
+        leaderboard.getChildren().add(row);
+        if (++lanesDone == lanes.size()) setRacing(false);
+    }
+
+    /** One tile: its algorithm choice, canvas and slot in the frame pump. */
+    private final class Lane {
+        final int index;
+        final FrameSlot slot = new FrameSlot(generation::get);
+        final ComboBox<String> algorithmBox = new ComboBox<>();
+        final VBox tile;
+        private final Pane pane = new Pane();
+        private final BarRenderer renderer = new CanvasBarRenderer(pane, TILE_SCALE);
+        private final Label statsLabel = new Label("Comparisons: 0 | Swaps: 0 | Writes: 0");
+        private Frame shown;
+
+        Lane(int index, String algorithm) {
+            this.index = index;
+            for (Algorithm a : Algorithms.all()) {
+                algorithmBox.getItems().add(a.name());
+            }
+            algorithmBox.setValue(algorithm);
+            algorithmBox.setStyle("-fx-font-size: 14px;");
+            statsLabel.setStyle("-fx-font-size: 13px; -fx-text-fill: #FFFFFF;");
+            pane.setMinSize(0, 0);
+            pane.setPrefHeight(Main.WINDOW_HEIGHT * TILE_SCALE);
+            pane.widthProperty().addListener((obs, oldVal, newVal) -> redraw());
+            tile = new VBox(4, algorithmBox, pane, statsLabel);
+            tile.setPadding(new Insets(6));
+            tile.setStyle("-fx-background-color: #20203A; -fx-background-radius: 6;");
+        }
+
+        /** Starts sorting a fresh copy of the race input on a virtual thread. */
+        void start(long id, int[] values) {
+            workers.execute(new LaneRun(this, id, Algorithms.find(algorithmBox.getValue()), values));
+        }
+
+        /** Draws a frame taken from the slot, repainting only what changed. */
+        void show(Frame frame) {
+            shown = frame;
+            renderer.update(frame.values, frame.highlight1, frame.highlight2, null, frame.dirty, pane.getWidth());
+            statsLabel.setText(String.format("Comparisons: %,d | Swaps: %,d | Writes: %,d",
+                    frame.comparisons, frame.swaps, frame.writes));
+        }
+
+        private void redraw() {
+            if (shown != null) {
+                renderer.render(shown.values, shown.highlight1, shown.highlight2, null, pane.getWidth());
+            }
+        }
+    }
+
+    /**
+     * One lane of one race. The array, counters and highlights are touched
+     * only by the lane's virtual thread; the tile sees them through frames
+     * published to the lane's slot, and a run of an older race stops at its
+     * next operation.
+     */
+    private final class LaneRun implements Runnable, SortArray, FrameSlot.Writer {
+        private final Lane lane;
+        private final long id;
+        private final Algorithm algorithm;
+        private final int[] values;
+        private final Pacer lanePacer = pacer.forWorker();
+        private int highlight1 = -1, highlight2 = -1;
+        private long comparisons, swaps, writes;
+        private final DirtyIndices changed = new DirtyIndices();
+
+        LaneRun(Lane lane, long id, Algorithm algorithm, int[] values) {
+            this.lane = lane;
+            this.id = id;
+            this.algorithm = algorithm;
+            this.values = values;
+        }
+
+        @Override
+        public void run() {
+            long wallNanos;
+            try {
+                // The unpaced time on an identical copy goes to the leaderboard
+                CountingArray timing = new CountingArray(values.clone());
+                long start = System.nanoTime();
+                algorithm.sort(timing);
+                wallNanos = System.nanoTime() - start;
+
+                lanePacer.start();
+                algorithm.sort(this);
+            } catch (CancellationException stopped) {
+                return;
+            } catch (Throwable error) {
+                // E.g. Counting Sort on too wide a value range; the other lanes race on
+                metrics.runLater(() -> fail(id, lane, algorithm.name(), error));
+                return;
+            }
+            highlight1 = highlight2 = -1;
+            lane.slot.publish(id, this);
+            int place = finished.incrementAndGet();
+            long ops = comparisons + swaps + writes;
+            metrics.runLater(() -> finish(id, lane, place, algorithm.name(), ops, wallNanos));
+        }
+
+        @Override
+        public void write(Frame frame) {
+            frame.copyValues(values);
+            frame.dirty.set(changed);
+            changed.clear();
+            frame.lanes = null;
+            frame.highlight1 = highlight1;
+            frame.highlight2 = highlight2;
+            frame.comparisons = comparisons;
+            frame.swaps = swaps;
+            frame.writes = writes;
+            frame.position = -1;
+            frame.total = 0;
+            frame.status = null;
+        }
+
+        @Override
+        public int length() {
+            return values.length;
+        }
+
+        @Override
+        public int read(int i) {
+            metrics.reads.increment();
+            return values[i];
+        }
+
+        @Override
+        public void write(int i, int value) {
+            values[i] = value;
+            changed.add(i);
+            writes++;
+            metrics.writes.increment();
+            step(i, -1);
+        }
+
+        @Override
+        public int compare(int i, int j) {
+            comparisons++;
+            metrics.comparisons.increment();
+            metrics.reads.add(2);
+            step(i, j);
+            return Integer.compare(values[i], values[j]);
+        }
+
+        @Override
+        public void swap(int i, int j) {
+            int temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+            changed.add(i);
+            changed.add(j);
+            swaps++;
+            metrics.swaps.increment();
+            step(i, j);
+        }
+
+        @Override
+        public void compared(int i, int j) {
+            comparisons++;
+            metrics.comparisons.increment();
+            step(i, j);
+        }
+
+        /** Paces one visible operation; unwinds the algorithm once its race is over. */
+        private void step(int i, int j) {
+            if (generation.get() != id) throw new CancellationException();
+            highlight1 = i;
+            highlight2 = j;
+            if (lanePacer.countOp()) {
+                lane.slot.publish(id, this);
+                try {
+                    lanePacer.awaitDeadline();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException();
+                }
+            }
+        }
+    }
+}
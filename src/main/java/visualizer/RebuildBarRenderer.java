@@ -0,0 +1,66 @@
+package visualizer;
+
+import javafx.scene.control.Label;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * The original renderer: clears the pane and creates a fresh Rectangle and
+ * Label for every bar on each call. Kept as a fallback.
+ */
+class RebuildBarRenderer implements BarRenderer {
+    private final Pane barPane;
+
+    RebuildBarRenderer(Pane barPane) {
+        this.barPane = barPane;
+    }
+
+    @Override
+    public void render(int[] values, int highlight1, int highlight2, int[] lanes, double paneWidth) {
+        barPane.getChildren().clear();
+
+        // Responsive padding
+        double availableWidth = paneWidth - 2 * Main.BAR_LEFT_PADDING;
+        double barSpace = Main.BAR_WIDTH + Main.BAR_GAP;
+        double totalBarWidth = values.length * barSpace - Main.BAR_GAP; // no gap after last bar
+        double leftPad = Main.BAR_LEFT_PADDING + Math.max(0, (availableWidth - totalBarWidth) / 2);
+
+        double scale = BarRenderer.scaleFor(values);
+        Rectangle[] bars = new Rectangle[values.length];
+        for (int i = 0; i < values.length; i++) {
+            double height = Math.max(0, values[i] * scale);
+            double x = leftPad + i * barSpace;
+            double y = Main.WINDOW_HEIGHT - height - Main.BAR_BOTTOM_PADDING;
+            Rectangle bar = new Rectangle(x, y, Main.BAR_WIDTH, height);
+            bars[i] = bar;
+
+            if (i == highlight1 || i == highlight2) {
+                bar.setFill(Color.RED);
+            } else {
+                bar.setFill(Color.web("#2196F3"));
+            }
+            bar.setArcWidth(6);
+            bar.setArcHeight(6);
+
+            Label valueLabel = new Label(String.valueOf(values[i]));
+            valueLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #FFF; -fx-font-weight: bold;");
+            valueLabel.setLayoutX(x + Main.BAR_WIDTH / 2.0 - 10);
+            valueLabel.setLayoutY(y - 18);
+
+            barPane.getChildren().addAll(bar, valueLabel);
+        }
+
+        if (lanes != null) {
+            for (int k = 0; k < lanes.length; k++) {
+                int i = lanes[k];
+                if (i >= 0 && i < bars.length) bars[i].setFill(BarRenderer.laneColor(k / 2));
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        barPane.getChildren().clear();
+    }
+}
@@ -0,0 +1,161 @@
+package visualizer;
+
+import javafx.scene.control.Label;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+import java.util.Arrays;
+
+/**
+ * Builds one Rectangle and one Label per bar the first time an array of a
+ * given size is drawn, then only touches the bars whose value or colour
+ * changed since the previous frame. No nodes are allocated per step.
+ * {@link #update} skips the scan and only looks at the dirty indices and the
+ * old and new highlights.
+ */
+class RetainedBarRenderer implements BarRenderer {
+    private static final String LABEL_STYLE = "-fx-font-size: 11px; -fx-text-fill: #FFF; -fx-font-weight: bold;";
+
+    private final Pane barPane;
+    private Rectangle[] bars = new Rectangle[0];
+    private Label[] labels = new Label[0];
+    private int[] shownValues = new int[0];
+    private Color[] shownColor = new Color[0];
+    private Color[] wantedColor = new Color[0];
+    private double shownLeftPad = Double.NaN;
+    private double shownScale = Double.NaN;
+    private double shownPaneWidth = Double.NaN;
+    private int shownMax;
+    private boolean shownLanes;
+    private int shownHighlight1 = -1, shownHighlight2 = -1;
+
+    RetainedBarRenderer(Pane barPane) {
+        this.barPane = barPane;
+    }
+
+    @Override
+    public void render(int[] values, int highlight1, int highlight2, int[] lanes, double paneWidth) {
+        if (bars.length != values.length) {
+            build(values.length);
+        }
+        Arrays.fill(wantedColor, BAR_COLOR);
+        if (lanes != null) {
+            for (int k = 0; k < lanes.length; k++) {
+                int i = lanes[k];
+                if (i >= 0 && i < values.length) wantedColor[i] = BarRenderer.laneColor(k / 2);
+            }
+        }
+        if (highlight1 >= 0 && highlight1 < values.length) wantedColor[highlight1] = HIGHLIGHT_COLOR;
+        if (highlight2 >= 0 && highlight2 < values.length) wantedColor[highlight2] = HIGHLIGHT_COLOR;
+
+        double availableWidth = paneWidth - 2 * Main.BAR_LEFT_PADDING;
+        double barSpace = Main.BAR_WIDTH + Main.BAR_GAP;
+        double totalBarWidth = values.length * barSpace - Main.BAR_GAP;
+        double leftPad = Main.BAR_LEFT_PADDING + Math.max(0, (availableWidth - totalBarWidth) / 2);
+        shownMax = BarRenderer.maxOf(values);
+        double scale = MAX_BAR_HEIGHT / shownMax;
+        // A new position or scale moves every bar
+        boolean moved = leftPad != shownLeftPad || scale != shownScale;
+        shownLeftPad = leftPad;
+        shownScale = scale;
+        shownPaneWidth = paneWidth;
+        shownLanes = lanes != null;
+        shownHighlight1 = highlight1;
+        shownHighlight2 = highlight2;
+
+        for (int i = 0; i < values.length; i++) {
+            refresh(i, values[i], wantedColor[i], moved);
+        }
+    }
+
+    @Override
+    public void update(int[] values, int highlight1, int highlight2, int[] lanes, DirtyIndices dirty, double paneWidth) {
+        if (dirty.isAll() || lanes != null || shownLanes || bars.length != values.length || paneWidth != shownPaneWidth) {
+            render(values, highlight1, highlight2, lanes, paneWidth);
+            return;
+        }
+        for (int k = 0; k < dirty.size(); k++) {
+            if (values[dirty.get(k)] > shownMax) {
+                render(values, highlight1, highlight2, lanes, paneWidth);
+                return;
+            }
+        }
+        for (int k = 0; k < dirty.size(); k++) {
+            refresh(values, dirty.get(k), highlight1, highlight2);
+        }
+        refresh(values, shownHighlight1, highlight1, highlight2);
+        refresh(values, shownHighlight2, highlight1, highlight2);
+        refresh(values, highlight1, highlight1, highlight2);
+        refresh(values, highlight2, highlight1, highlight2);
+        shownHighlight1 = highlight1;
+        shownHighlight2 = highlight2;
+    }
+
+    private void refresh(int[] values, int i, int highlight1, int highlight2) {
+        if (i < 0 || i >= values.length) return;
+        refresh(i, values[i], i == highlight1 || i == highlight2 ? HIGHLIGHT_COLOR : BAR_COLOR, false);
+    }
+
+    /** Brings bar {@code i} up to date with the last layout; untouched if nothing about it changed. */
+    private void refresh(int i, int value, Color color, boolean moved) {
+        boolean valueChanged = value != shownValues[i];
+        if (!moved && !valueChanged && color == shownColor[i]) return;
+
+        Rectangle bar = bars[i];
+        Label valueLabel = labels[i];
+        double x = shownLeftPad + i * (Main.BAR_WIDTH + Main.BAR_GAP);
+        double height = Math.max(0, value * shownScale);
+        double y = Main.WINDOW_HEIGHT - height - Main.BAR_BOTTOM_PADDING;
+        if (moved || valueChanged) {
+            bar.setX(x);
+            bar.setY(y);
+            bar.setHeight(height);
+            valueLabel.setLayoutX(x + Main.BAR_WIDTH / 2.0 - 10);
+            valueLabel.setLayoutY(y - 18);
+        }
+        if (valueChanged) {
+            valueLabel.setText(String.valueOf(value));
+            shownValues[i] = value;
+        }
+        if (color != shownColor[i]) {
+            bar.setFill(color);
+            shownColor[i] = color;
+        }
+    }
+
+    @Override
+    public void reset() {
+        barPane.getChildren().clear();
+        bars = new Rectangle[0];
+        labels = new Label[0];
+        shownValues = new int[0];
+        shownColor = new Color[0];
+        wantedColor = new Color[0];
+        shownLeftPad = Double.NaN;
+        shownScale = Double.NaN;
+        shownPaneWidth = Double.NaN;
+    }
+
+    private void build(int size) {
+        reset();
+        bars = new Rectangle[size];
+        labels = new Label[size];
+        shownValues = new int[size];
+        shownColor = new Color[size];
+        wantedColor = new Color[size];
+        Arrays.fill(shownValues, -1);
+        Arrays.fill(shownColor, BAR_COLOR);
+        for (int i = 0; i < size; i++) {
+            Rectangle bar = new Rectangle(0, 0, Main.BAR_WIDTH, 0);
+            bar.setFill(BAR_COLOR);
+            bar.setArcWidth(6);
+            bar.setArcHeight(6);
+            Label valueLabel = new Label();
+            valueLabel.setStyle(LABEL_STYLE);
+            bars[i] = bar;
+            labels[i] = valueLabel;
+            barPane.getChildren().addAll(bar, valueLabel);
+        }
+    }
+}
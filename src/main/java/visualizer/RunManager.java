@@ -0,0 +1,73 @@
+package visualizer;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs sort workers on named virtual threads, one run at a time. Starting a
+ * run or calling {@link #cancel()} interrupts the previous one; pacing, the
+ * step gate and trace recording all give way to an interrupt within a frame.
+ * Each run's outcome, normal or exceptional, is reported through the future
+ * returned by {@link #submit}, once the run's thread is done with it.
+ * Methods are called from the FX thread.
+ */
+final class RunManager implements AutoCloseable {
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sort-run-", 1).factory());
+    private Future<?> current;
+    private Runnable abandonCurrent;
+
+    /** Starts {@code run}, cancelling the previous run if it is still going. */
+    CompletableFuture<Void> submit(Callable<?> run) {
+        cancel();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        AtomicBoolean started = new AtomicBoolean();
+        // A run cancelled before it started never completes its own future
+        abandonCurrent = () -> {
+            if (started.compareAndSet(false, true)) done.completeExceptionally(new CancellationException());
+        };
+        current = executor.submit(() -> {
+            if (!started.compareAndSet(false, true)) return;
+            try {
+                run.call();
+                done.complete(null);
+            } catch (Throwable t) {
+                done.completeExceptionally(t);
+            }
+        });
+        return done;
+    }
+
+    /** Runs {@code task} on a virtual thread of its own, outside the one-run-at-a-time bookkeeping. */
+    void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /** Interrupts the current run; it stops at its next operation, wait or frame. */
+    void cancel() {
+        if (current != null) {
+            current.cancel(true);
+            abandonCurrent.run();
+            current = null;
+            abandonCurrent = null;
+        }
+    }
+
+    /** Cancels the current run and waits briefly for its thread to end. */
+    @Override
+    public void close() {
+        cancel();
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
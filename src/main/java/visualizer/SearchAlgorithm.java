@@ -0,0 +1,162 @@
+package visualizer;
+
+import java.util.function.IntConsumer;
+
+/**
+ * The searches, run against a {@link SortedIndex} so the array on screen keeps
+ * its order. Each one reports every element it looks at to a probe consumer,
+ * as a slot in its own layout, and returns the position of a match in the
+ * original array or -1. Linear Search probes the original array, Eytzinger
+ * Search the index's Eytzinger layout and the others its sorted keys.
+ */
+enum SearchAlgorithm {
+    LINEAR("Linear Search") {
+        @Override
+        int find(SortedIndex index, int key, IntConsumer probes) {
+            int[] values = index.values;
+            for (int i = 0; i < values.length; i++) {
+                probes.accept(i);
+                if (values[i] == key) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        int position(SortedIndex index, int probe) {
+            return probe;
+        }
+    },
+    BINARY("Binary Search") {
+        @Override
+        int find(SortedIndex index, int key, IntConsumer probes) {
+            return found(index, binary(index.keys, key, 0, index.size() - 1, probes));
+        }
+    },
+    INTERPOLATION("Interpolation Search") {
+        @Override
+        int find(SortedIndex index, int key, IntConsumer probes) {
+            int[] keys = index.keys;
+            int low = 0, high = keys.length - 1;
+            while (low <= high && key >= keys[low] && key <= keys[high]) {
+                // Guess the slot from where the key falls between the ends; in doubles, as the product overflows a long
+                long span = (long) keys[high] - keys[low];
+                int mid = span == 0 ? low
+                        : Math.min(high, low + (int) ((double) ((long) key - keys[low]) * (high - low) / span));
+                probes.accept(mid);
+                if (keys[mid] == key) return index.position(mid);
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return -1;
+        }
+    },
+    EXPONENTIAL("Exponential Search") {
+        @Override
+        int find(SortedIndex index, int key, IntConsumer probes) {
+            int[] keys = index.keys;
+            int n = keys.length;
+            // Double the bound until it passes the key, then search the last doubling
+            int bound = 1;
+            while (bound < n) {
+                probes.accept(bound);
+                if (keys[bound] >= key) break;
+                bound = (int) Math.min(n, 2L * bound);
+            }
+            return found(index, binary(keys, key, bound / 2, Math.min(bound, n - 1), probes));
+        }
+    },
+    JUMP("Jump Search") {
+        @Override
+        int find(SortedIndex index, int key, IntConsumer probes) {
+            int[] keys = index.keys;
+            int n = keys.length;
+            int step = Math.max(1, (int) Math.sqrt(n));
+            // Jump a block of sqrt(n) at a time to the first block ending at or above the key, then scan it
+            int from = 0, to = Math.min(step, n);
+            while (to < n) {
+                probes.accept(to - 1);
+                if (keys[to - 1] >= key) break;
+                from = to;
+                to = (int) Math.min(n, (long) to + step);
+            }
+            for (int i = from; i < to; i++) {
+                probes.accept(i);
+                if (keys[i] == key) return index.position(i);
+                if (keys[i] > key) break;
+            }
+            return -1;
+        }
+    },
+    EYTZINGER("Eytzinger Search") {
+        @Override
+        int find(SortedIndex index, int key, IntConsumer probes) {
+            int[] tree = index.eytzinger();
+            int n = tree.length - 1;
+            // Branchless descent: the comparison picks the child, so there is no branch to mispredict.
+            // k passes 2^31 on the last step of very large trees, hence the unsigned compare.
+            int k = 1;
+            while (Integer.compareUnsigned(k, n) <= 0) {
+                probes.accept(k);
+                k = 2 * k + (tree[k] < key ? 1 : 0);
+            }
+            // Undo the trailing right turns and the last left one: k is the first node not below the key
+            k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+            return k != 0 && tree[k] == key ? index.position(index.eytzingerSlot(k)) : -1;
+        }
+
+        @Override
+        int position(SortedIndex index, int probe) {
+            return index.position(index.eytzingerSlot(probe));
+        }
+    };
+
+    final String name;
+
+    SearchAlgorithm(String name) {
+        this.name = name;
+    }
+
+    /** The search with this display name, or null if there is none. */
+    static SearchAlgorithm find(String name) {
+        for (SearchAlgorithm search : values()) {
+            if (search.name.equals(name)) return search;
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /** Position in {@code index.values} of an element equal to {@code key}, or -1. */
+    abstract int find(SortedIndex index, int key, IntConsumer probes);
+
+    /** Position in the original array of the element behind a probe reported by {@link #find}. */
+    int position(SortedIndex index, int probe) {
+        return index.position(probe);
+    }
+
+    /** Sorted slot of {@code key} within keys[low..high], or -1. */
+    private static int binary(int[] keys, int key, int low, int high, IntConsumer probes) {
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            probes.accept(mid);
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else if (keys[mid] > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int found(SortedIndex index, int slot) {
+        return slot < 0 ? -1 : index.position(slot);
+    }
+}
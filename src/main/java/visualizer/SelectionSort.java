@@ -0,0 +1,39 @@
+package visualizer;
+
+/** Swaps the minimum of the unsorted suffix into place; one phase per selection. */
+public class SelectionSort implements Algorithm {
+    @Override
+    public String name() {
+        return "Selection Sort";
+    }
+
+    @Override
+    public boolean isStable() {
+        return false;
+    }
+
+    @Override
+    public boolean isInPlace() {
+        return true;
+    }
+
+    @Override
+    public String complexity() {
+        return "O(n^2)";
+    }
+
+    @Override
+    public void sort(SortArray a) {
+        int n = a.length();
+        for (int i = 0; i < n - 1; i++) {
+            int minIdx = i;
+            for (int j = i + 1; j < n; j++) {
+                if (a.compare(j, minIdx) < 0) {
+                    minIdx = j;
+                }
+            }
+            a.swap(i, minIdx);
+            a.phase(i, n - 1);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package visualizer;
+
+/**
+ * Instrumented array the sorting algorithms work against. Implementations
+ * decide what each operation costs: recording it into a trace for the
+ * visualizer, counting it for headless runs, or nothing at all.
+ */
+public interface SortArray {
+    int length();
+
+    int read(int i);
+
+    void write(int i, int value);
+
+    /** Compares the elements at i and j, like {@link Integer#compare}. */
+    int compare(int i, int j);
+
+    void swap(int i, int j);
+
+    /** Records a comparison the algorithm made on values it holds itself, e.g. a key or a buffer. */
+    default void compared(int i, int j) {
+    }
+
+    /** Marks the end of a logical phase that worked on [from, to]. */
+    default void phase(int from, int to) {
+    }
+}
@@ -0,0 +1,77 @@
+package visualizer;
+
+import java.util.Arrays;
+
+/**
+ * A sorted copy of an array, kept apart from the array on screen so searching
+ * never reorders the bars. Every sorted slot remembers where its value sits in
+ * the original array, which is where a search's probes are highlighted. The
+ * Eytzinger (breadth-first) layout of the same keys is built on first use.
+ */
+final class SortedIndex {
+    /** The array in its original order; not copied, so it must not change while the index is used. */
+    final int[] values;
+    /** The values in ascending order. */
+    final int[] keys;
+    private final int[] positions;   // index in values of keys[slot]
+    private volatile int[] eytzinger;
+    private int[] eytzingerSlots;    // sorted slot of eytzinger[k]
+
+    SortedIndex(int[] values) {
+        this.values = values;
+        int n = values.length;
+        // Value in the high half, position in the low half: one primitive sort, stable for equal values
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) packed[i] = (long) values[i] << 32 | i;
+        Arrays.parallelSort(packed);
+        keys = new int[n];
+        positions = new int[n];
+        for (int slot = 0; slot < n; slot++) {
+            keys[slot] = (int) (packed[slot] >> 32);
+            positions[slot] = (int) packed[slot];
+        }
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    /** Where the value in sorted slot {@code slot} sits in the original array. */
+    int position(int slot) {
+        return positions[slot];
+    }
+
+    /** The keys in Eytzinger order, 1-based: the children of node k are 2k and 2k + 1. */
+    int[] eytzinger() {
+        int[] tree = eytzinger;
+        if (tree == null) {
+            synchronized (this) {
+                tree = eytzinger;
+                if (tree == null) {
+                    tree = new int[keys.length + 1];
+                    eytzingerSlots = new int[keys.length + 1];
+                    layout(tree, 0, 1);
+                    eytzinger = tree;
+                }
+            }
+        }
+        return tree;
+    }
+
+    /** The sorted slot of node {@code k} of {@link #eytzinger()}. */
+    int eytzingerSlot(int k) {
+        eytzinger();
+        return eytzingerSlots[k];
+    }
+
+    /** In-order walk of the implicit tree, handing out sorted slots from {@code slot}; returns the next slot. */
+    private int layout(int[] tree, int slot, int k) {
+        if (k <= keys.length) {
+            slot = layout(tree, slot, 2 * k);
+            tree[k] = keys[slot];
+            eytzingerSlots[k] = slot++;
+            slot = layout(tree, slot, 2 * k + 1);
+        }
+        return slot;
+    }
+}
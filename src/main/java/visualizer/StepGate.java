@@ -0,0 +1,163 @@
+package visualizer;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pause/step controller between the UI and the sort worker. While paused the
+ * worker parks on a condition and is woken immediately by Resume, Step,
+ * Seek or Stop, so no signal is lost and nothing polls.
+ *
+ * Steps are counted either in operations ({@link #step(long)}) or in logical
+ * phases ({@link #stepPhase()}), where a phase ends at the next
+ * {@link #phaseBoundary()} reported by the worker, e.g. after one partition
+ * or one merge.
+ */
+final class StepGate {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // Volatile so the running worker can skip the lock on its per-operation checks
+    private volatile boolean paused, stopped;
+    private volatile long seek = -1;
+    private long stepOps;
+    private int stepPhases;
+
+    // --- UI side ---
+    void reset() {
+        lock.lock();
+        try {
+            paused = stopped = false;
+            stepOps = stepPhases = 0;
+            seek = -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void pause() {
+        lock.lock();
+        try {
+            paused = true;
+            stepOps = stepPhases = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void resume() {
+        lock.lock();
+        try {
+            paused = false;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Lets a paused worker run {@code n} more operations. */
+    void step(long n) {
+        lock.lock();
+        try {
+            stepOps += n;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Lets a paused worker run until the end of the current phase. */
+    void stepPhase() {
+        lock.lock();
+        try {
+            stepPhases++;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Asks the worker to jump to {@code position} of its trace. */
+    void seek(long position) {
+        lock.lock();
+        try {
+            seek = position;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void stop() {
+        lock.lock();
+        try {
+            stopped = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isPaused() {
+        return paused;
+    }
+
+    // --- Worker side ---
+
+    /**
+     * Blocks until the worker may perform its next operation: the gate is
+     * running, a step is available, a seek is pending or the run was stopped.
+     * Before parking it runs {@code beforePark} outside the lock, which is
+     * where the worker publishes the outcome of the steps it just took, once
+     * per Step rather than once per operation. Returns true if the operation
+     * is a step taken while paused.
+     */
+    boolean awaitOp(Runnable beforePark) throws InterruptedException {
+        if (!paused) return false;
+        boolean parked = false;
+        lock.lock();
+        try {
+            while (paused && !stopped && seek < 0 && stepOps == 0 && stepPhases == 0) {
+                if (!parked) {
+                    parked = true;
+                    lock.unlock();
+                    try {
+                        beforePark.run();
+                    } finally {
+                        lock.lock();
+                    }
+                    continue;
+                }
+                changed.await();
+            }
+            if (paused && seek < 0 && stepOps > 0) {
+                stepOps--;
+            }
+            return paused;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Reports the end of a logical phase; consumes one phase step if any. */
+    void phaseBoundary() {
+        lock.lock();
+        try {
+            if (stepPhases > 0) stepPhases--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns and clears the pending seek position, or -1. */
+    long takeSeek() {
+        if (seek < 0) return -1;
+        lock.lock();
+        try {
+            long position = seek;
+            seek = -1;
+            return position;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package visualizer;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Compact operation log of one sort run. Every event is packed into a single
+ * long so recording allocates nothing per operation:
+ *
+ * <pre>
+ *   bits 61-63  opcode (COMPARE, SWAP, WRITE, PHASE, READ)
+ *   bits 32-60  first index
+ *   bits  0-31  second index, the written value for WRITE, or the count for READ
+ * </pre>
+ *
+ * PHASE events mark the end of one logical step of the algorithm (a pass, a
+ * partition, a merge) over the index range [a, b]. READ events stand for
+ * plain reads of the b consecutive elements from index a, so a sequential
+ * pass costs one event. Events are stored in
+ * fixed-size chunks so growing the log never copies what was already
+ * recorded. The log also keeps a copy of the input so it can be
+ * replayed from the start. Runs too long for the heap are recorded to a
+ * {@link TraceFile} in the same encoding.
+ */
+final class Trace implements TraceSink, EventSource {
+    static final int COMPARE = 0;
+    static final int SWAP = 1;
+    static final int WRITE = 2;
+    static final int PHASE = 3;
+    static final int READ = 4;
+    static final int OP_COUNT = 5;
+
+    static final int MAX_INDEX = (1 << 29) - 1;
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    /** Most events an in-memory trace can index. */
+    static final long MAX_EVENTS = Integer.MAX_VALUE - CHUNK_MASK;
+
+    /** Thrown when a run records more events than its trace was allowed. */
+    static final class TooLongException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        TooLongException(long events) {
+            super(String.format("Trace exceeds %,d events; pick a smaller size", events));
+        }
+    }
+
+    private final int[] initial;
+    private final long maxEvents;
+    private long[][] chunks = new long[16][];
+    private long[] tail = new long[CHUNK_SIZE];
+    private int size;
+
+    Trace(int[] initial) {
+        this(initial, MAX_EVENTS);
+    }
+
+    /** A trace that throws {@link TooLongException} once it holds about {@code maxEvents} events. */
+    Trace(int[] initial, long maxEvents) {
+        if (initial.length - 1 > MAX_INDEX) {
+            throw new IllegalArgumentException("Array too large to trace: " + initial.length);
+        }
+        this.initial = initial.clone();
+        this.maxEvents = Math.min(maxEvents, MAX_EVENTS);
+        chunks[0] = tail;
+    }
+
+    /** Sorts {@code values} in place with {@code algorithm} and returns the recorded trace. */
+    static Trace record(Algorithm algorithm, int[] values) {
+        return record(algorithm, values, MAX_EVENTS);
+    }
+
+    /** Like {@link #record(Algorithm, int[])}, giving up with {@link TooLongException} past {@code maxEvents}. */
+    static Trace record(Algorithm algorithm, int[] values, long maxEvents) {
+        Trace trace = new Trace(values, maxEvents);
+        TracedArray traced = new TracedArray(values, trace);
+        algorithm.sort(traced);
+        traced.flushReads();
+        return trace;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    long get(int k) {
+        return chunks[k >>> CHUNK_BITS][k & CHUNK_MASK];
+    }
+
+    @Override
+    public long event(long k) {
+        return get((int) k);
+    }
+
+    @Override
+    public int[] initial() {
+        return initial.clone();
+    }
+
+    @Override
+    public int length() {
+        return initial.length;
+    }
+
+    static long encode(int op, int a, int b) {
+        return ((long) op << 61) | ((long) a << 32) | (b & 0xFFFFFFFFL);
+    }
+
+    static int op(long event) {
+        return (int) (event >>> 61);
+    }
+
+    static int a(long event) {
+        return (int) (event >>> 32) & MAX_INDEX;
+    }
+
+    static int b(long event) {
+        return (int) event;
+    }
+
+    /** Applies one event to {@code values}; compares and reads leave it untouched. */
+    static void apply(long event, int[] values) {
+        switch (op(event)) {
+            case SWAP: {
+                int i = a(event), j = b(event);
+                int temp = values[i];
+                values[i] = values[j];
+                values[j] = temp;
+            } break;
+            case WRITE:
+                values[a(event)] = b(event);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void add(long event) {
+        int offset = size & CHUNK_MASK;
+        if (offset == 0 && size > 0) {
+            // Checked once per chunk, so the limit is rounded up to whole chunks
+            if (size >= maxEvents) throw new TooLongException(size);
+            // Recording a large run takes a while; a cancelled run stops at the next chunk
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Trace recording interrupted");
+            }
+            int chunk = size >>> CHUNK_BITS;
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            }
+            tail = new long[CHUNK_SIZE];
+            chunks[chunk] = tail;
+        }
+        tail[offset] = event;
+        size++;
+    }
+}
@@ -0,0 +1,326 @@
+package visualizer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * A trace stored on disk, for runs whose event log does not fit the heap.
+ * The {@link Writer} streams events through a FileChannel while the sort
+ * runs; {@link #open} memory-maps the file and reads events and keyframes
+ * straight from the mapping, so only the pages being replayed are resident.
+ *
+ * <p>Version 2 layout, little-endian:
+ * <pre>
+ *   header (64 bytes)
+ *     0  int   magic "AVTR"
+ *     4  int   version
+ *     8  int   array length n
+ *    12  int   opcode count, 5: compare, swap, write, phase and read
+ *    16  long  event count
+ *    24  long  keyframe interval I
+ *    32  long  keyframe count
+ *    40  long  index offset
+ *   blocks, one per keyframe k
+ *     keyframe   opcode counts (longs) and the n values before event k*I, padded to 8 bytes
+ *     events     up to I packed events, encoded as in {@link Trace}
+ *   index
+ *     file offset of each keyframe (longs)
+ * </pre>
+ * Blocks have a fixed size, so an event's offset follows from its number.
+ *
+ * <p>Version 2 added READ events, and with them a fifth opcode count in
+ * every keyframe; the layout is otherwise that of version 1. The version
+ * must match exactly, so a version 1 reader rejects these files with
+ * "Unsupported trace file version 2", and its opcode count check would
+ * reject 5 against its 4 as well. Version 1 files are likewise rejected here.
+ */
+final class TraceFile implements EventSource, Closeable {
+    static final int MAGIC = 0x52545641;   // "AVTR" in little-endian order
+    static final int VERSION = 2;   // 2 added READ events
+    static final String EXTENSION = ".avtrace";
+    private static final int HEADER_BYTES = 64;
+    private static final int MIN_INTERVAL = 1 << 16;
+    // Mappings are at most 2 GB; 1 GB windows keep every event and value inside one of them
+    private static final int WINDOW_BITS = 30;
+    private static final long WINDOW_MASK = (1L << WINDOW_BITS) - 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] windows;
+    private final int length;
+    private final long events, interval;
+    private final long keyframeBytes, blockBytes;
+    private final long[] keyframeOffsets;
+
+    private TraceFile(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long fileSize = channel.size();
+        windows = new MappedByteBuffer[(int) ((fileSize + WINDOW_MASK) >>> WINDOW_BITS)];
+        for (int w = 0; w < windows.length; w++) {
+            long start = (long) w << WINDOW_BITS;
+            windows[w] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(1L << WINDOW_BITS, fileSize - start));
+            windows[w].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (fileSize < HEADER_BYTES || window(0).getInt(0) != MAGIC) {
+            throw new IOException("Not a trace file");
+        }
+        ByteBuffer header = window(0);
+        int version = header.getInt(4);
+        if (version != VERSION) throw new IOException("Unsupported trace file version " + version);
+        if (header.getInt(12) != Trace.OP_COUNT) throw new IOException("Unsupported opcode count " + header.getInt(12));
+        length = header.getInt(8);
+        events = header.getLong(16);
+        interval = header.getLong(24);
+        long keyframes = header.getLong(32);
+        long indexOffset = header.getLong(40);
+        keyframeBytes = keyframeBytes(length);
+        blockBytes = keyframeBytes + 8 * interval;
+        if (length < 0 || events < 0 || interval <= 0 || keyframes != events / interval + 1
+                || indexOffset + 8 * keyframes != fileSize) {
+            throw new IOException("Corrupt trace file header");
+        }
+        keyframeOffsets = new long[(int) keyframes];
+        for (int k = 0; k < keyframeOffsets.length; k++) {
+            keyframeOffsets[k] = getLong(indexOffset + 8L * k);
+            if (keyframeOffsets[k] != HEADER_BYTES + k * blockBytes) throw new IOException("Corrupt trace file index");
+        }
+    }
+
+    /** Maps an existing trace file for reading. */
+    static TraceFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new TraceFile(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Sorts {@code values} in place with {@code algorithm}, streaming the trace to {@code path}. */
+    static long record(Algorithm algorithm, int[] values, Path path) throws IOException {
+        return record(algorithm, values, path, Long.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #record(Algorithm, int[], Path)}, giving up with {@link Trace.TooLongException} past {@code maxEvents}.
+     * The trace is written to a temporary file next to {@code path} and moved there once complete, so a failed or
+     * cancelled recording leaves no truncated file behind and an existing one as it was.
+     */
+    static long record(Algorithm algorithm, int[] values, Path path, long maxEvents) throws IOException {
+        Path target = path.toAbsolutePath();
+        Path partial = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+        boolean moved = false;
+        try {
+            long events;
+            try (Writer writer = new Writer(partial, values, maxEvents)) {
+                TracedArray traced = new TracedArray(values, writer);
+                algorithm.sort(traced);
+                traced.flushReads();
+                events = writer.events();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            moved = true;
+            return events;
+        } finally {
+            if (!moved) Files.deleteIfExists(partial);
+        }
+    }
+
+    /** Events between keyframes; the snapshots add about 1/16 of the event bytes to the file. */
+    static long intervalFor(int length) {
+        return Math.max(MIN_INTERVAL, 8L * length);
+    }
+
+    private static long keyframeBytes(int length) {
+        return (8L * Trace.OP_COUNT + 4L * length + 7) & ~7L;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public long size() {
+        return events;
+    }
+
+    long interval() {
+        return interval;
+    }
+
+    @Override
+    public long event(long k) {
+        return getLong(HEADER_BYTES + (k / interval) * blockBytes + keyframeBytes + (k % interval) * 8);
+    }
+
+    @Override
+    public int[] initial() {
+        int[] values = new int[length];
+        keyframe(0, values, new long[Trace.OP_COUNT]);
+        return values;
+    }
+
+    /** Restores the array and counters (indexed by opcode) before event {@code k * interval()}. */
+    void keyframe(int k, int[] values, long[] counts) {
+        long offset = keyframeOffsets[k];
+        for (int op = 0; op < counts.length; op++) {
+            counts[op] = getLong(offset + 8L * op);
+        }
+        offset += 8L * Trace.OP_COUNT;
+        int done = 0;
+        while (done < length) {
+            ByteBuffer window = window(offset).duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            window.position((int) (offset & WINDOW_MASK));
+            IntBuffer ints = window.asIntBuffer();
+            int count = Math.min(length - done, ints.remaining());
+            ints.get(values, done, count);
+            done += count;
+            offset += 4L * count;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Arrays.fill(windows, null);
+        channel.close();
+    }
+
+    private long getLong(long offset) {
+        return window(offset).getLong((int) (offset & WINDOW_MASK));
+    }
+
+    private MappedByteBuffer window(long offset) {
+        return windows[(int) (offset >>> WINDOW_BITS)];
+    }
+
+    /**
+     * Streams events to a new trace file. Keyframes are read from the array
+     * being sorted, which the sort has not yet changed for the event being
+     * added, so the writer needs no copy of its own.
+     */
+    static final class Writer implements TraceSink, Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private final int[] values;
+        private final long interval, maxEvents;
+        private final long[] counts = new long[Trace.OP_COUNT];
+        private long[] keyframeOffsets = new long[16];
+        private int keyframes;
+        private long events;
+        private long flushed;   // bytes already written to the channel
+
+        Writer(Path path, int[] values) throws IOException {
+            this(path, values, Long.MAX_VALUE);
+        }
+
+        Writer(Path path, int[] values, long maxEvents) throws IOException {
+            if (values.length - 1 > Trace.MAX_INDEX) {
+                throw new IllegalArgumentException("Array too large to trace: " + values.length);
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            this.values = values;
+            this.interval = intervalFor(values.length);
+            this.maxEvents = maxEvents;
+            buffer.put(new byte[HEADER_BYTES]);   // filled in by close()
+        }
+
+        @Override
+        public void add(long event) {
+            if (events == maxEvents) throw new Trace.TooLongException(events);
+            if (events % interval == 0) keyframe();
+            ensure(8);
+            buffer.putLong(event);
+            counts[Trace.op(event)]++;
+            events++;
+        }
+
+        long events() {
+            return events;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                // Every block, including a full or empty last one, is preceded by its keyframe
+                if (events % interval == 0) keyframe();
+                long indexOffset = flushed + buffer.position();
+                for (int k = 0; k < keyframes; k++) {
+                    ensure(8);
+                    buffer.putLong(keyframeOffsets[k]);
+                }
+                flush();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putInt(values.length).putInt(Trace.OP_COUNT)
+                        .putLong(events).putLong(interval).putLong(keyframes).putLong(indexOffset);
+                header.clear();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void keyframe() {
+            if (keyframes == keyframeOffsets.length) {
+                keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframes * 2);
+            }
+            keyframeOffsets[keyframes++] = flushed + buffer.position();
+            for (long count : counts) {
+                ensure(8);
+                buffer.putLong(count);
+            }
+            int done = 0;
+            while (done < values.length) {
+                ensure(4);
+                IntBuffer ints = buffer.asIntBuffer();
+                int count = Math.min(values.length - done, ints.remaining());
+                ints.put(values, done, count);
+                buffer.position(buffer.position() + 4 * count);
+                done += count;
+            }
+            if ((values.length & 1) != 0) {
+                ensure(4);
+                buffer.putInt(0);
+            }
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        private void flush() {
+            // Checked before writing: an interrupt during a channel write would close the channel
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Trace recording interrupted");
+            }
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    flushed += channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+    }
+}
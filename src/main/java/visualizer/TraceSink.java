@@ -0,0 +1,27 @@
+package visualizer;
+
+/** Receives the packed events of a run as it is recorded, in order. */
+interface TraceSink {
+    void add(long event);
+
+    default void compare(int i, int j) {
+        add(Trace.encode(Trace.COMPARE, i, j));
+    }
+
+    default void swap(int i, int j) {
+        add(Trace.encode(Trace.SWAP, i, j));
+    }
+
+    default void write(int i, int value) {
+        add(Trace.encode(Trace.WRITE, i, value));
+    }
+
+    default void phase(int from, int to) {
+        add(Trace.encode(Trace.PHASE, from, to));
+    }
+
+    /** Plain reads of the {@code count} elements starting at {@code from}. */
+    default void read(int from, int count) {
+        add(Trace.encode(Trace.READ, from, count));
+    }
+}
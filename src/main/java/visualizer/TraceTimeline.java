@@ -0,0 +1,144 @@
+package visualizer;
+
+import java.util.Arrays;
+
+/**
+ * Random access into a recorded run. A full copy of the array is kept every
+ * {@code interval} events; seeking copies the nearest keyframe at or before
+ * the target and replays the remaining deltas, so any position is reachable
+ * in O(interval). For an in-memory trace the keyframes are built here, with
+ * an interval that grows with the array size so the snapshots, the one at
+ * position 0 included, stay within {@link #SNAPSHOT_BUDGET_BYTES}; arrays too
+ * large for even one snapshot get none and seek from the input. A
+ * {@link TraceFile} brings its own keyframes.
+ * <p>
+ * The heatmap counts are kept apart, at most {@link #HEAT_KEYFRAMES} of them
+ * and each no larger than {@link AccessHeat#MAX_REGIONS} counters, so they
+ * stay close together even when the array keyframes are sparse or missing.
+ * They are built on the first {@link #seekHeat}, as most replays never seek
+ * with the heatmap on.
+ */
+final class TraceTimeline {
+    static final long SNAPSHOT_BUDGET_BYTES = 64L << 20;
+    static final int MIN_INTERVAL = 256;
+    static final int HEAT_KEYFRAMES = 4096;
+
+    private final EventSource events;
+    private final long interval;
+    // In-memory keyframes and the counters (indexed by opcode) at each, or null when read from a file
+    private final int[][] keyframes;
+    private final long[][] keyframeCounts;
+    private final TraceFile file;
+    // Heat counts every heatInterval events, built on first use
+    private final long heatInterval;
+    private long[][] heatKeyframes;
+
+    TraceTimeline(EventSource events) {
+        this.events = events;
+        this.file = null;
+        this.interval = intervalFor(events.length(), events.size());
+        this.heatInterval = heatIntervalFor(events.size());
+        int count = 4L * events.length() > SNAPSHOT_BUDGET_BYTES ? 0 : (int) (events.size() / interval + 1);
+        keyframes = new int[count][];
+        keyframeCounts = new long[count][];
+
+        int[] values = events.initial();
+        long[] counts = new long[Trace.OP_COUNT];
+        for (int k = 0; k < count; k++) {
+            keyframes[k] = values.clone();
+            keyframeCounts[k] = counts.clone();
+            long end = Math.min(events.size(), (k + 1) * interval);
+            for (long e = k * interval; e < end; e++) {
+                long event = events.event(e);
+                Trace.apply(event, values);
+                counts[Trace.op(event)]++;
+            }
+        }
+    }
+
+    TraceTimeline(TraceFile file) {
+        this.events = file;
+        this.file = file;
+        this.interval = file.interval();
+        this.heatInterval = heatIntervalFor(file.size());
+        keyframes = null;
+        keyframeCounts = null;
+    }
+
+    /**
+     * Events between keyframes so that all {@code events / interval + 1}
+     * snapshots of a {@code length}-element array fit the budget; with room
+     * for one snapshot or none, the interval spans the whole trace.
+     */
+    static long intervalFor(int length, long events) {
+        long maxSnapshots = SNAPSHOT_BUDGET_BYTES / Math.max(1, 4L * length);
+        if (maxSnapshots <= 1) return Long.MAX_VALUE;
+        long interval = (events + maxSnapshots - 2) / (maxSnapshots - 1);
+        return Math.max(MIN_INTERVAL, interval);
+    }
+
+    /** Events between heat keyframes so that at most {@link #HEAT_KEYFRAMES} cover the trace. */
+    static long heatIntervalFor(long events) {
+        return Math.max(MIN_INTERVAL, (events + HEAT_KEYFRAMES - 1) / HEAT_KEYFRAMES);
+    }
+
+    long interval() {
+        return interval;
+    }
+
+    long size() {
+        return events.size();
+    }
+
+    long event(long k) {
+        return events.event(k);
+    }
+
+    /**
+     * Restores {@code values} to the state before event {@code position} and
+     * fills {@code counts} (indexed by opcode) with the operations done so far.
+     */
+    void seek(long position, int[] values, long[] counts) {
+        int k = (int) (position / interval);
+        if (file != null) {
+            file.keyframe(k, values, counts);
+        } else if (keyframes.length == 0) {
+            // Not even one snapshot fits the budget: start over from the input
+            System.arraycopy(events.initial(), 0, values, 0, values.length);
+            Arrays.fill(counts, 0);
+        } else {
+            System.arraycopy(keyframes[k], 0, values, 0, values.length);
+            System.arraycopy(keyframeCounts[k], 0, counts, 0, counts.length);
+        }
+        for (long e = k * interval; e < position; e++) {
+            long event = events.event(e);
+            Trace.apply(event, values);
+            counts[Trace.op(event)]++;
+        }
+    }
+
+    /**
+     * Sets {@code heat} to the accesses made before event {@code position},
+     * copying the nearest heat keyframe and recounting the events after it.
+     * The first call builds the keyframes in one pass over the trace. Only
+     * the replaying thread may call this.
+     */
+    void seekHeat(long position, AccessHeat heat) {
+        if (heatKeyframes == null) {
+            AccessHeat counting = new AccessHeat(events.length());
+            heatKeyframes = new long[(int) (events.size() / heatInterval + 1)][];
+            for (int k = 0; k < heatKeyframes.length; k++) {
+                heatKeyframes[k] = counting.counts.clone();
+                long end = Math.min(events.size(), (k + 1) * heatInterval);
+                for (long e = k * heatInterval; e < end; e++) {
+                    counting.record(events.event(e));
+                }
+            }
+        }
+        int k = (int) (position / heatInterval);
+        System.arraycopy(heatKeyframes[k], 0, heat.counts, 0, heat.counts.length);
+        for (long e = k * heatInterval; e < position; e++) {
+            heat.record(events.event(e));
+        }
+    }
+}
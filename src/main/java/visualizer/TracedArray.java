@@ -0,0 +1,86 @@
+package visualizer;
+
+/**
+ * SortArray that appends compares, swaps, writes, phase markers and reads to
+ * a trace in memory or on disk. Reads of consecutive elements are gathered
+ * into one event, written before the next other operation or by
+ * {@link #flushReads()}, so a sequential pass stays small in the log.
+ */
+final class TracedArray implements SortArray {
+    private final int[] values;
+    private final TraceSink trace;
+    private long reads;
+    // Reads not yet in the trace: elements [readFrom, readFrom + readCount)
+    private int readFrom, readCount;
+
+    TracedArray(int[] values, TraceSink trace) {
+        this.values = values;
+        this.trace = trace;
+    }
+
+    @Override
+    public int length() {
+        return values.length;
+    }
+
+    @Override
+    public int read(int i) {
+        reads++;
+        if (readCount > 0 && i == readFrom + readCount) {
+            readCount++;
+        } else {
+            flushReads();
+            readFrom = i;
+            readCount = 1;
+        }
+        return values[i];
+    }
+
+    @Override
+    public void write(int i, int value) {
+        flushReads();
+        trace.write(i, value);
+        values[i] = value;
+    }
+
+    @Override
+    public int compare(int i, int j) {
+        flushReads();
+        trace.compare(i, j);
+        reads += 2;
+        return Integer.compare(values[i], values[j]);
+    }
+
+    @Override
+    public void compared(int i, int j) {
+        flushReads();
+        trace.compare(i, j);
+    }
+
+    @Override
+    public void swap(int i, int j) {
+        flushReads();
+        trace.swap(i, j);
+        int temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+    }
+
+    @Override
+    public void phase(int from, int to) {
+        flushReads();
+        trace.phase(from, to);
+    }
+
+    /** Writes the pending reads to the trace; called once the sort is done. */
+    void flushReads() {
+        if (readCount > 0) {
+            trace.read(readFrom, readCount);
+            readCount = 0;
+        }
+    }
+
+    long reads() {
+        return reads;
+    }
+}
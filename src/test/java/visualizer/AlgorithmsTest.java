@@ -0,0 +1,49 @@
+package visualizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlgorithmsTest {
+    @Test
+    void loadsTheBuiltInSortsFromTheServiceFile() {
+        for (String name : new String[]{"Bubble Sort", "Selection Sort", "Insertion Sort", "Quick Sort", "Merge Sort",
+                "Heap Sort", "LSD Radix Sort", "MSD Radix Sort", "Counting Sort", "Block Merge Sort"}) {
+            assertNotNull(Algorithms.find(name), name);
+        }
+        assertNull(Algorithms.find("Bogo Sort"));
+    }
+
+    @Test
+    void namesAreUnique() {
+        Set<String> names = new HashSet<>();
+        for (Algorithm algorithm : Algorithms.all()) {
+            assertTrue(names.add(algorithm.name()), algorithm.name());
+        }
+    }
+
+    @Test
+    void estimatesCoverTheEventsRecordedOnUnorderedInput() {
+        for (Algorithm algorithm : Algorithms.all()) {
+            for (Distribution distribution : new Distribution[]{Distribution.RANDOM, Distribution.REVERSED}) {
+                if (algorithm instanceof QuickSort && distribution == Distribution.REVERSED) continue;
+                int n = 2_000;
+                long events = Trace.record(algorithm, distribution.generate(n, 1)).size();
+                assertTrue(events <= Algorithms.estimatedEvents(algorithm, n), algorithm.name() + " " + distribution);
+            }
+        }
+    }
+
+    @Test
+    void maxSizeIsTheLargestWithinTheLimit() {
+        Algorithm bubble = Algorithms.find("Bubble Sort");
+        int n = Algorithms.maxSizeFor(bubble, 1L << 29);
+        assertTrue(Algorithms.estimatedEvents(bubble, n) <= 1L << 29);
+        assertTrue(Algorithms.estimatedEvents(bubble, n + 1) > 1L << 29);
+    }
+}
@@ -0,0 +1,80 @@
+package visualizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchRunnerTest {
+    @Test
+    void quickSortIsQuadraticOnAllButShuffledInput() {
+        for (Distribution distribution : Distribution.values()) {
+            boolean shuffled = distribution == Distribution.RANDOM || distribution == Distribution.GAUSSIAN;
+            assertEquals(!shuffled, BatchRunner.isQuadratic(new QuickSort(), distribution), distribution.id);
+            assertTrue(BatchRunner.isQuadratic(new BubbleSort(), distribution), distribution.id);
+            assertFalse(BatchRunner.isQuadratic(new HeapSort(), distribution), distribution.id);
+        }
+    }
+
+    @Test
+    void skipsQuadraticCellsAboveTheLimit() throws Exception {
+        List<BatchRunner.Result> results = new BatchRunner(Collections.singletonList(new QuickSort()), new int[]{100, 1_000},
+                Arrays.asList(Distribution.RANDOM, Distribution.SORTED), 1, 1, 2, 500).run();
+        assertEquals(3, results.size());
+        for (BatchRunner.Result result : results) {
+            assertTrue(result.size <= 500 || result.distribution.equals("random"), result.distribution + " " + result.size);
+            assertTrue(result.sorted);
+        }
+    }
+
+    @Test
+    void reportsAFailedCellAndRunsTheRest() throws Exception {
+        List<Algorithm> algorithms = Arrays.asList(new FailingSort(), new HeapSort());
+        List<BatchRunner.Result> results = new BatchRunner(algorithms, new int[]{1_000},
+                Collections.singletonList(Distribution.RANDOM), 1, 1, 2, 500).run();
+        assertEquals(2, results.size());
+        assertEquals("Value range too wide, \"x\"", results.get(0).error);
+        assertNull(results.get(1).error);
+        assertTrue(results.get(1).sorted);
+        String[] csv = BatchRunner.toCsv(results).split("\n");
+        assertEquals(3, csv.length);
+        assertTrue(csv[0].endsWith(",sorted,error"));
+        assertTrue(csv[1].endsWith(",false,\"Value range too wide, \"\"x\"\"\""), csv[1]);
+        assertTrue(csv[2].endsWith(",true,"), csv[2]);
+        assertTrue(BatchRunner.toJson(results).contains("\"error\": \"Value range too wide, \\\"x\\\"\""));
+    }
+
+    /** Throws like Counting Sort does on too wide a range. */
+    private static final class FailingSort implements Algorithm {
+        @Override
+        public String name() {
+            return "Failing Sort";
+        }
+
+        @Override
+        public boolean isStable() {
+            return true;
+        }
+
+        @Override
+        public boolean isInPlace() {
+            return true;
+        }
+
+        @Override
+        public String complexity() {
+            return "O(n)";
+        }
+
+        @Override
+        public void sort(SortArray array) {
+            throw new IllegalArgumentException("Value range too wide, \"x\"");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package visualizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DistributionTest {
+    @Test
+    void sameSeedGivesTheSameArray() {
+        for (Distribution distribution : Distribution.values()) {
+            assertArrayEquals(distribution.generate(200_000, 11), distribution.generate(200_000, 11), distribution.id);
+        }
+    }
+
+    @Test
+    void offHeapGenerationMatchesTheHeap() {
+        for (Distribution distribution : Distribution.values()) {
+            int size = 150_001;
+            try (OffHeapIntArray target = new OffHeapIntArray(size)) {
+                distribution.generate(target, 5);
+                int[] expected = distribution.generate(size, 5);
+                for (int i = 0; i < size; i++) {
+                    assertEquals(expected[i], target.get(i), distribution.id + " at " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void quicksortKillerIsAQuadraticPermutation() {
+        for (int n : new int[]{0, 1, 2, 3, 10, 2_000}) {
+            int[] values = Distribution.QUICKSORT_KILLER.generate(n, 1);
+            int[] sorted = values.clone();
+            Arrays.sort(sorted);
+            for (int i = 0; i < n; i++) assertEquals(i, sorted[i]);
+        }
+        int n = 2_000;
+        CountingArray counts = new CountingArray(Distribution.QUICKSORT_KILLER.generate(n, 1));
+        new QuickSort().sort(counts);
+        assertTrue(counts.comparisons >= (long) n * (n - 1) / 2 - n, "comparisons: " + counts.comparisons);
+    }
+}
@@ -0,0 +1,86 @@
+package visualizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelSortsTest {
+    private static final int SIZE = 200_000;
+
+    @Test
+    void everyParallelSortSortsEveryDistribution() throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String algorithm : new String[]{ParallelSorts.QUICK, ParallelSorts.MERGE, ParallelSorts.BITONIC}) {
+                for (Distribution distribution : Distribution.values()) {
+                    assertSorts(algorithm, distribution.generate(10_000, 3), pool, 1_000, algorithm + " " + distribution);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void quickSortKeepsTheStackShallowOnSortedAndKillerInput() throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (Distribution distribution : new Distribution[]{Distribution.SORTED, Distribution.REVERSED, Distribution.QUICKSORT_KILLER}) {
+                int[] input = distribution.generate(SIZE, 1);
+                assertSorts(ParallelSorts.QUICK, input, pool, 1_000, "parallel " + distribution);
+                assertSorts(ParallelSorts.QUICK, input, pool, ParallelSorts.SEQUENTIAL, "sequential " + distribution);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void quickSortStaysLinearithmicOnFewUniqueKeys() throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            for (Distribution distribution : new Distribution[]{Distribution.FEW_UNIQUE, Distribution.ZIPF}) {
+                int[] values = distribution.generate(SIZE, 1);
+                LaneArray a = new LaneArray(values, 1, array -> { });
+                ParallelSorts.sort(ParallelSorts.QUICK, a, pool, ParallelSorts.SEQUENTIAL);
+                double nLogN = SIZE * Math.log(SIZE) / Math.log(2);
+                assertTrue(a.comparisons.sum() < 3 * nLogN, distribution + ": " + a.comparisons.sum() + " comparisons");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void runningTasksStopOnceCancelled() throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String algorithm : new String[]{ParallelSorts.QUICK, ParallelSorts.MERGE, ParallelSorts.BITONIC}) {
+                AtomicLong checks = new AtomicLong();
+                // Cancelled after a few checks, i.e. while the tasks are running
+                LaneArray a = new LaneArray(Distribution.RANDOM.generate(1_000_000, 2), 4, null, null,
+                        () -> checks.incrementAndGet() > 10);
+                assertThrows(CancellationException.class, () -> ParallelSorts.sort(algorithm, a, pool, 10_000), algorithm);
+                assertTrue(checks.get() < 1_000, algorithm + " kept going for " + checks.get() + " checks");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void assertSorts(String algorithm, int[] input, ForkJoinPool pool, int cutoff, String message)
+            throws InterruptedException {
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+        int[] values = input.clone();
+        ParallelSorts.sort(algorithm, new LaneArray(values, pool.getParallelism(), null), pool, cutoff);
+        assertArrayEquals(expected, values, message);
+    }
+}
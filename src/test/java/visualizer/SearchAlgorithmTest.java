@@ -0,0 +1,94 @@
+package visualizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchAlgorithmTest {
+    @Test
+    void indexKeepsTheArrayAndMapsSlotsBack() {
+        int[] values = Distribution.FEW_UNIQUE.generate(1_000, 2);
+        int[] original = values.clone();
+        SortedIndex index = new SortedIndex(values);
+        assertArrayEquals(original, values);
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, index.keys);
+        boolean[] seen = new boolean[values.length];
+        for (int slot = 0; slot < index.size(); slot++) {
+            assertEquals(index.keys[slot], values[index.position(slot)]);
+            seen[index.position(slot)] = true;
+        }
+        for (boolean s : seen) assertTrue(s);
+    }
+
+    @Test
+    void eytzingerLayoutIsBreadthFirstOverTheSortedKeys() {
+        for (int n : new int[]{0, 1, 2, 3, 7, 8, 100}) {
+            SortedIndex index = new SortedIndex(Distribution.RANDOM.generate(n, n));
+            int[] tree = index.eytzinger();
+            assertEquals(n + 1, tree.length);
+            // An in-order walk of the implicit tree gives the sorted keys back
+            int[] walked = new int[n];
+            inOrder(tree, 1, walked, new int[1]);
+            assertArrayEquals(index.keys, walked);
+            for (int k = 1; k <= n; k++) {
+                assertEquals(tree[k], index.keys[index.eytzingerSlot(k)]);
+            }
+        }
+    }
+
+    @Test
+    void everySearchAgreesWithTheValuesPresent() {
+        for (Distribution distribution : Distribution.values()) {
+            for (int n : new int[]{0, 1, 2, 3, 7, 100, 1_000, 65_537}) {
+                int[] values = distribution.generate(n, 7);
+                SortedIndex index = new SortedIndex(values);
+                Set<Integer> present = new HashSet<>();
+                for (int v : values) present.add(v);
+                int[] queries = QueryBatch.queries(index, 500, 3);
+                for (SearchAlgorithm search : SearchAlgorithm.values()) {
+                    for (int key : queries) {
+                        int found = search.find(index, key, probe -> {
+                            int position = search.position(index, probe);
+                            assertTrue(position >= 0 && position < n);
+                        });
+                        String message = search + " " + distribution + " n=" + n + " key=" + key;
+                        if (present.contains(key)) {
+                            assertTrue(found >= 0, message);
+                            assertEquals(key, values[found], message);
+                        } else {
+                            assertEquals(-1, found, message);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void batchesCountEveryQueryWithinTheBudget() throws InterruptedException {
+        SortedIndex index = new SortedIndex(Distribution.RANDOM.generate(10_000, 4));
+        int[] queries = QueryBatch.queries(index, 20_000, 4);
+        QueryBatch.Result single = QueryBatch.run(SearchAlgorithm.BINARY, index, "random", queries, 1, Long.MAX_VALUE / 2);
+        QueryBatch.Result parallel = QueryBatch.run(SearchAlgorithm.EYTZINGER, index, "random", queries, 4, Long.MAX_VALUE / 2);
+        assertEquals(queries.length, single.queries);
+        assertEquals(queries.length, parallel.queries);
+        assertEquals(single.hits, parallel.hits);
+        assertTrue(single.probesPerQuery() <= 15);
+    }
+
+    private static void inOrder(int[] tree, int k, int[] out, int[] next) {
+        if (k < tree.length) {
+            inOrder(tree, 2 * k, out, next);
+            out[next[0]++] = tree[k];
+            inOrder(tree, 2 * k + 1, out, next);
+        }
+    }
+}
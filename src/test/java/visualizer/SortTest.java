@@ -0,0 +1,48 @@
+package visualizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class SortTest {
+    private static final int[] SIZES = {0, 1, 2, 3, 17, 256, 1_000};
+
+    @Test
+    void everyAlgorithmSortsEveryDistribution() {
+        assertFalse(Algorithms.all().isEmpty(), "no algorithms registered");
+        for (Algorithm algorithm : Algorithms.all()) {
+            for (Distribution distribution : Distribution.values()) {
+                for (int size : SIZES) {
+                    assertSorts(algorithm, distribution.generate(size, size), algorithm.name() + " " + distribution + " " + size);
+                }
+            }
+        }
+    }
+
+    @Test
+    void radixSortsOrderNegativeAndExtremeKeys() {
+        int[] input = {5, -1, Integer.MIN_VALUE, 0, Integer.MAX_VALUE, -300, 256, -256, 5, Integer.MIN_VALUE + 1};
+        assertSorts(new LsdRadixSort(), input, "LSD");
+        assertSorts(new MsdRadixSort(), input, "MSD");
+        assertSorts(new CountingSort(), new int[]{3, -2, 0, -2, 7, 1}, "Counting");
+    }
+
+    @Test
+    void radixSortsHandleLargeRandomInput() {
+        int[] input = new java.util.Random(9).ints(200_000).toArray();
+        assertSorts(new LsdRadixSort(), input, "LSD");
+        assertSorts(new MsdRadixSort(), input, "MSD");
+        assertSorts(new BlockMergeSort(), input, "Block Merge");
+    }
+
+    private static void assertSorts(Algorithm algorithm, int[] input, String message) {
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+        int[] values = input.clone();
+        algorithm.sort(new CountingArray(values));
+        assertArrayEquals(expected, values, message);
+    }
+}
@@ -0,0 +1,50 @@
+package visualizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StepGateTest {
+    @Test
+    void runningGateNeitherParksNorPublishes() throws InterruptedException {
+        StepGate gate = new StepGate();
+        AtomicInteger published = new AtomicInteger();
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(gate.awaitOp(published::incrementAndGet));
+            assertEquals(-1, gate.takeSeek());
+        }
+        assertEquals(0, published.get());
+    }
+
+    @Test
+    void aStepOfManyOperationsPublishesOnce() throws Exception {
+        StepGate gate = new StepGate();
+        gate.pause();
+        AtomicInteger published = new AtomicInteger();
+        AtomicInteger ops = new AtomicInteger();
+        CompletableFuture<Void> worker = CompletableFuture.runAsync(() -> {
+            try {
+                while (gate.awaitOp(published::incrementAndGet)) {
+                    if (ops.incrementAndGet() == 10_000) return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        // Parked once before the first step; then one publish per Step
+        while (published.get() < 1) Thread.sleep(1);
+        gate.step(5_000);
+        while (published.get() < 2) Thread.sleep(1);
+        assertEquals(5_000, ops.get());
+        gate.step(5_000);
+        worker.get(10, TimeUnit.SECONDS);
+        assertEquals(2, published.get());
+        assertTrue(gate.isPaused());
+    }
+}
@@ -0,0 +1,113 @@
+package visualizer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TraceFileTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsTheSameEventsAsTheInMemoryTrace() throws IOException {
+        int[] input = Distribution.RANDOM.generate(3_000, 5);
+        Trace expected = Trace.record(new MergeSort(), input.clone());
+        Path path = dir.resolve("merge" + TraceFile.EXTENSION);
+        long events = TraceFile.record(new MergeSort(), input.clone(), path);
+
+        try (TraceFile file = TraceFile.open(path)) {
+            assertEquals(expected.size(), events);
+            assertEquals(expected.size(), file.size());
+            assertEquals(input.length, file.length());
+            assertArrayEquals(input, file.initial());
+            for (long k = 0; k < events; k++) {
+                assertEquals(expected.event(k), file.event(k), "event " + k);
+            }
+        }
+    }
+
+    @Test
+    void keyframesMatchAReplayFromTheStart() throws IOException {
+        // Odd length, so keyframes are padded to 8 bytes
+        int[] input = Distribution.REVERSED.generate(1_001, 1);
+        Path path = dir.resolve("heap" + TraceFile.EXTENSION);
+        TraceFile.record(new HeapSort(), input.clone(), path);
+
+        try (TraceFile file = TraceFile.open(path)) {
+            TraceTimeline timeline = new TraceTimeline(file);
+            int[] replayed = input.clone();
+            long[] counts = new long[Trace.OP_COUNT];
+            int[] seeked = new int[input.length];
+            long[] seekedCounts = new long[Trace.OP_COUNT];
+            for (long k = 0; k <= file.size(); k++) {
+                if (k % file.interval() == 0 || k == file.size()) {
+                    timeline.seek(k, seeked, seekedCounts);
+                    assertArrayEquals(replayed, seeked, "position " + k);
+                    assertArrayEquals(counts, seekedCounts, "position " + k);
+                }
+                if (k < file.size()) {
+                    long event = file.event(k);
+                    Trace.apply(event, replayed);
+                    counts[Trace.op(event)]++;
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsFilesThatAreNotTraces() throws IOException {
+        Path path = dir.resolve("not-a-trace" + TraceFile.EXTENSION);
+        Files.write(path, new byte[128]);
+        assertThrows(IOException.class, () -> TraceFile.open(path));
+    }
+
+    @Test
+    void rejectsOtherVersions() throws IOException {
+        Path path = dir.resolve("future" + TraceFile.EXTENSION);
+        TraceFile.record(new InsertionSort(), Distribution.RANDOM.generate(100, 1), path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, TraceFile.VERSION + 1), 4);
+        }
+        assertThrows(IOException.class, () -> TraceFile.open(path));
+    }
+
+    @Test
+    void stopsRecordingPastTheLimit() throws IOException {
+        Path path = dir.resolve("long" + TraceFile.EXTENSION);
+        assertThrows(Trace.TooLongException.class,
+                () -> TraceFile.record(new BubbleSort(), Distribution.REVERSED.generate(1_000, 1), path, 10_000));
+        // Neither the trace nor its partial file is left behind
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void aFailedRecordingLeavesTheExistingFileAsItWas() throws IOException {
+        Path path = dir.resolve("kept" + TraceFile.EXTENSION);
+        int[] input = Distribution.RANDOM.generate(500, 2);
+        long events = TraceFile.record(new InsertionSort(), input.clone(), path);
+        byte[] before = Files.readAllBytes(path);
+        assertThrows(Trace.TooLongException.class,
+                () -> TraceFile.record(new BubbleSort(), Distribution.REVERSED.generate(1_000, 1), path, 10_000));
+        assertArrayEquals(before, Files.readAllBytes(path));
+        try (TraceFile file = TraceFile.open(path)) {
+            assertEquals(events, file.size());
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+}
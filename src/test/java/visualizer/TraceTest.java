@@ -0,0 +1,106 @@
+package visualizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceTest {
+    @Test
+    void packsOpcodeIndexAndValue() {
+        int[][] cases = {
+                {Trace.COMPARE, 0, 0},
+                {Trace.SWAP, Trace.MAX_INDEX, Trace.MAX_INDEX - 1},
+                {Trace.WRITE, 12345, Integer.MIN_VALUE},
+                {Trace.WRITE, Trace.MAX_INDEX, -1},
+                {Trace.PHASE, 7, Integer.MAX_VALUE},
+        };
+        for (int[] c : cases) {
+            long event = Trace.encode(c[0], c[1], c[2]);
+            assertEquals(c[0], Trace.op(event));
+            assertEquals(c[1], Trace.a(event));
+            assertEquals(c[2], Trace.b(event));
+        }
+    }
+
+    @Test
+    void appliesSwapsAndWrites() {
+        int[] values = {1, 2, 3};
+        Trace.apply(Trace.encode(Trace.SWAP, 0, 2), values);
+        Trace.apply(Trace.encode(Trace.WRITE, 1, -5), values);
+        Trace.apply(Trace.encode(Trace.COMPARE, 0, 1), values);
+        assertArrayEquals(new int[]{3, -5, 1}, values);
+    }
+
+    @Test
+    void replayingTheTraceSortsTheInput() {
+        // Large enough for the log to span several chunks
+        for (Algorithm algorithm : Algorithms.all()) {
+            int size = algorithm.complexity().equals("O(n^2)") ? 500 : 20_000;
+            int[] input = Distribution.RANDOM.generate(size, 3);
+            int[] sorted = input.clone();
+            Trace trace = Trace.record(algorithm, sorted);
+            assertArrayEquals(input, trace.initial(), algorithm.name());
+            int[] replayed = trace.initial();
+            for (long k = 0; k < trace.size(); k++) Trace.apply(trace.event(k), replayed);
+            assertArrayEquals(sorted, replayed, algorithm.name());
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            assertArrayEquals(expected, replayed, algorithm.name());
+        }
+        assertTrue(Trace.record(new MergeSort(), Distribution.RANDOM.generate(20_000, 1)).size() > 1 << 16);
+    }
+
+    @Test
+    void gathersConsecutiveReadsIntoOneEvent() {
+        int[] values = new int[20];
+        Trace trace = new Trace(values);
+        TracedArray traced = new TracedArray(values, trace);
+        for (int i = 0; i < 10; i++) traced.read(i);
+        traced.write(0, 7);
+        traced.read(5);
+        traced.read(3);
+        traced.read(4);
+        traced.flushReads();
+        long[] expected = {
+                Trace.encode(Trace.READ, 0, 10),
+                Trace.encode(Trace.WRITE, 0, 7),
+                Trace.encode(Trace.READ, 5, 1),
+                Trace.encode(Trace.READ, 3, 2),
+        };
+        assertEquals(expected.length, trace.size());
+        for (int k = 0; k < expected.length; k++) assertEquals(expected[k], trace.event(k));
+    }
+
+    @Test
+    void heatCountsEveryReadOfARun() {
+        int n = 1_000;
+        AccessHeat runs = new AccessHeat(n);
+        AccessHeat single = new AccessHeat(n);
+        int[][] reads = {{0, n}, {3, 1}, {250, 511}, {n - 1, 1}};
+        for (int[] read : reads) {
+            runs.record(Trace.encode(Trace.READ, read[0], read[1]));
+            for (int i = read[0]; i < read[0] + read[1]; i++) single.touch(i, 1);
+        }
+        assertArrayEquals(single.counts, runs.counts);
+        // Radix Sort only reads and writes, so the heat holds exactly what a counting run counts
+        int[] input = Distribution.RANDOM.generate(n, 4);
+        CountingArray counting = new CountingArray(input.clone());
+        new LsdRadixSort().sort(counting);
+        Trace trace = Trace.record(new LsdRadixSort(), input.clone());
+        AccessHeat heat = new AccessHeat(n);
+        for (long k = 0; k < trace.size(); k++) heat.record(trace.event(k));
+        assertEquals(counting.reads + counting.writes, Arrays.stream(heat.counts).sum());
+    }
+
+    @Test
+    void stopsRecordingPastTheLimit() {
+        int[] values = Distribution.REVERSED.generate(2_000, 1);
+        assertThrows(Trace.TooLongException.class, () -> Trace.record(new BubbleSort(), values.clone(), 100_000));
+        assertTrue(Trace.record(new BubbleSort(), values.clone(), 10_000_000).size() > 100_000);
+    }
+}
@@ -0,0 +1,84 @@
+package visualizer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceTimelineTest {
+    @Test
+    void keyframesIncludingTheFirstFitTheBudget() {
+        int[] lengths = {1, 1_000, 1 << 20, 8 << 20, (16 << 20) - 1};
+        long[] sizes = {0, 1, 255, 1_000_000, Integer.MAX_VALUE, 1L << 40};
+        for (int length : lengths) {
+            for (long size : sizes) {
+                long interval = TraceTimeline.intervalFor(length, size);
+                long keyframes = size / interval + 1;
+                assertTrue(keyframes * 4L * length <= TraceTimeline.SNAPSHOT_BUDGET_BYTES, length + " " + size);
+            }
+        }
+        assertEquals(Long.MAX_VALUE, TraceTimeline.intervalFor(16 << 20, 1_000));
+        assertEquals(Long.MAX_VALUE, TraceTimeline.intervalFor(50_000_000, 1L << 30));
+    }
+
+    @Test
+    void seeksToEveryPosition() {
+        int[] input = Distribution.RANDOM.generate(300, 5);
+        Trace trace = Trace.record(new InsertionSort(), input.clone());
+        TraceTimeline timeline = new TraceTimeline(trace);
+        assertTrue(trace.size() > 2 * timeline.interval(), "too few events for several keyframes");
+        assertSeeksMatchReplay(trace, timeline, 1);
+    }
+
+    @Test
+    void seeksWithoutKeyframesWhenOneCopyExceedsTheBudget() {
+        int[] input = new int[(16 << 20) + 1];
+        Trace trace = new Trace(input);
+        for (int i = 0; i < 1_000; i++) {
+            trace.add(Trace.encode(Trace.WRITE, i * 1_000, i));
+            trace.add(Trace.encode(Trace.SWAP, i, input.length - 1 - i));
+        }
+        TraceTimeline timeline = new TraceTimeline(trace);
+        assertSeeksMatchReplay(trace, timeline, 250);
+    }
+
+    @Test
+    void seeksHeatToEveryPosition() {
+        int[] input = Distribution.RANDOM.generate(300, 5);
+        Trace trace = Trace.record(new InsertionSort(), input.clone());
+        TraceTimeline timeline = new TraceTimeline(trace);
+        assertTrue(trace.size() > 2 * TraceTimeline.heatIntervalFor(trace.size()), "too few events for several heat keyframes");
+        long[][] expected = new long[(int) trace.size() + 1][];
+        AccessHeat counting = new AccessHeat(input.length);
+        for (int position = 0; position <= trace.size(); position++) {
+            expected[position] = counting.counts.clone();
+            if (position < trace.size()) counting.record(trace.event(position));
+        }
+        // Backwards, so every seek lands before the last one
+        AccessHeat heat = new AccessHeat(input.length);
+        for (int position = (int) trace.size(); position >= 0; position--) {
+            timeline.seekHeat(position, heat);
+            assertArrayEquals(expected[position], heat.counts, "position " + position);
+        }
+    }
+
+    private static void assertSeeksMatchReplay(Trace trace, TraceTimeline timeline, int stride) {
+        int[] replayed = trace.initial();
+        long[] counts = new long[Trace.OP_COUNT];
+        int[] values = new int[replayed.length];
+        long[] seekCounts = new long[Trace.OP_COUNT];
+        for (long position = 0; position <= trace.size(); position++) {
+            if (position % stride == 0 || position == trace.size()) {
+                timeline.seek(position, values, seekCounts);
+                assertArrayEquals(replayed, values, "position " + position);
+                assertArrayEquals(counts, seekCounts, "counts at " + position);
+            }
+            if (position < trace.size()) {
+                long event = trace.event(position);
+                Trace.apply(event, replayed);
+                counts[Trace.op(event)]++;
+            }
+        }
+    }
+}